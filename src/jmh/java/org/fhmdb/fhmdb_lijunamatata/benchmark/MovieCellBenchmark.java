@@ -0,0 +1,72 @@
+package org.fhmdb.fhmdb_lijunamatata.benchmark;
+
+import javafx.scene.Node;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieCatalogGenerator;
+import org.fhmdb.fhmdb_lijunamatata.ui.WatchlistCell;
+import org.fhmdb.fhmdb_lijunamatata.utils.JavaFxToolkitInitializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks updating a movie cell while scrolling, i.e. one cell showing one movie after the other.
+ * Run with the GC profiler to see the allocations per update:
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="MovieCellBenchmark -f 1 -prof gc"
+ * <p>
+ * Needs a display, the JavaFX toolkit is started for the controls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MovieCellBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private List<Movie> movies;
+    private BenchmarkCell cell;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        JavaFxToolkitInitializer.initialize();
+        movies = MovieCatalogGenerator.generate(size, MovieCatalogGenerator.DEFAULT_SEED);
+        cell = new BenchmarkCell();
+    }
+
+    /**
+     * A different movie on every call, like a cell that is reused while scrolling.
+     */
+    @Benchmark
+    public Node scroll() {
+        Movie movie = movies.get(index);
+        index = index + 1 == size ? 0 : index + 1;
+        return cell.show(movie);
+    }
+
+    /**
+     * The same movie again, like a layout pass that updates the visible cells.
+     */
+    @Benchmark
+    public Node refreshSameMovie() {
+        return cell.show(movies.get(0));
+    }
+
+    /**
+     * Exposes updateItem() of the cell to the benchmark.
+     */
+    static class BenchmarkCell extends WatchlistCell {
+        BenchmarkCell() {
+            super(null);
+        }
+
+        Node show(Movie movie) {
+            updateItem(movie, false);
+            return getGraphic();
+        }
+    }
+}
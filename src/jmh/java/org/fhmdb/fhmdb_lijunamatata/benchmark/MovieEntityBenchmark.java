@@ -0,0 +1,42 @@
+package org.fhmdb.fhmdb_lijunamatata.benchmark;
+
+import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion between movies and their database entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MovieEntityBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Movie> movies;
+    private List<MovieEntity> movieEntities;
+
+    @Setup
+    public void setUp() {
+        movies = MovieCatalogGenerator.generate(size, MovieCatalogGenerator.DEFAULT_SEED);
+        movieEntities = MovieEntity.fromMovies(movies);
+    }
+
+    @Benchmark
+    public List<MovieEntity> fromMovies() {
+        return MovieEntity.fromMovies(movies);
+    }
+
+    @Benchmark
+    public List<Movie> toMovies() {
+        return MovieEntity.toMovies(movieEntities);
+    }
+}
@@ -0,0 +1,67 @@
+package org.fhmdb.fhmdb_lijunamatata.benchmark;
+
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieCatalogGenerator;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the local filtering and the stream statistics of {@link MovieService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MovieServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Movie> movies;
+    private MovieService movieService;
+
+    @Setup
+    public void setUp() {
+        movies = MovieCatalogGenerator.generate(size, MovieCatalogGenerator.DEFAULT_SEED);
+        // the API is never called by the benchmarked methods, no cache directory needed
+        movieService = new MovieService(new MovieAPI(null));
+        // build the index once, the benchmark measures queries against an unchanged list
+        movieService.filterMovies(movies, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Movie> filterMoviesByText() {
+        return movieService.filterMovies(movies, "shadow", null, null, null);
+    }
+
+    @Benchmark
+    public List<Movie> filterMoviesCombined() {
+        return movieService.filterMovies(movies, "storm", Genre.DRAMA, 1994, 7.5);
+    }
+
+    @Benchmark
+    public String getMostPopularActor() {
+        return movieService.getMostPopularActor(movies);
+    }
+
+    @Benchmark
+    public int getLongestMovieTitle() {
+        return movieService.getLongestMovieTitle(movies);
+    }
+
+    @Benchmark
+    public long countMoviesFromDirector() {
+        return movieService.countMoviesFromDirector(movies, "Anna Adams");
+    }
+
+    @Benchmark
+    public List<Movie> getMoviesBetweenYears() {
+        return movieService.getMoviesBetweenYears(movies, 1990, 2000);
+    }
+}
@@ -0,0 +1,44 @@
+package org.fhmdb.fhmdb_lijunamatata.benchmark;
+
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieCatalogGenerator;
+import org.fhmdb.fhmdb_lijunamatata.state.AscendingSortState;
+import org.fhmdb.fhmdb_lijunamatata.state.DescendingSortState;
+import org.fhmdb.fhmdb_lijunamatata.state.SortState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sorting by title through the sort states.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SortStateBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Movie> movies;
+    private final SortState ascending = new AscendingSortState();
+    private final SortState descending = new DescendingSortState();
+
+    @Setup
+    public void setUp() {
+        movies = MovieCatalogGenerator.generate(size, MovieCatalogGenerator.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    public List<Movie> sortAscending() {
+        return ascending.sort(movies);
+    }
+
+    @Benchmark
+    public List<Movie> sortDescending() {
+        return descending.sort(movies);
+    }
+}
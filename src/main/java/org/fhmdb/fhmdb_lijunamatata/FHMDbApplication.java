@@ -75,6 +75,8 @@ public class FHMDbApplication extends Application {
         if(this.fhmdbController != null) {
             this.fhmdbController.shutdownScheduler();
         }
+        //closing the pooled database connections
+        DatabaseManager.closeConnectionSource();
     }
 
     public static void main(String[] args) {
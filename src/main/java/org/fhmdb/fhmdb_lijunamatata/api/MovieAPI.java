@@ -1,17 +1,30 @@
 package org.fhmdb.fhmdb_lijunamatata.api;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
 import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * MovieAPI class is responsible for fetching movie data from an external API.
@@ -20,19 +33,92 @@ import java.util.List;
 public class MovieAPI {
 
     private static final String BASE_URL = "https://prog2.fh-campuswien.ac.at/movies";
+    // response cache settings, can be overridden with -D system properties
+    static final String CACHE_DIRECTORY_PROPERTY = "fhmdb.http.cache.dir";
+    static final String CACHE_MAX_SIZE_PROPERTY = "fhmdb.http.cache.maxSizeBytes";
+    private static final String DEFAULT_CACHE_DIRECTORY = "./cache/http"; //Path of the persistent HTTP response cache
+    private static final long DEFAULT_CACHE_MAX_SIZE = 10L * 1024 * 1024; //10 MiB, least recently used entries are evicted first
+    private static Cache defaultCache; //shared by all default instances, OkHttp allows only one Cache per directory
+    //shared by all instances, identical URLs mean identical requests no matter which instance sends them
+    private static final RequestCoalescer requestCoalescer = new RequestCoalescer();
     private final OkHttpClient client;
     private final Gson gson;
+    private final TypeAdapter<Movie> movieAdapter;
+    //the most recent asynchronous query, cancelled as soon as a query with other filters is sent
+    private final AtomicReference<AsyncQuery> latestAsyncQuery = new AtomicReference<>();
 
     /**
-     * Constructor to initialize the API client, JSON parser, and status label.
-     *
-     * // @param statusLabel Label component for displaying loading messages.
-     * // @param isTesting   If true, disables UI updates to avoid JavaFX issues in tests.
+     * The URL and the future of an asynchronous query.
+     */
+    private static final class AsyncQuery {
+        private final String url;
+        private final CompletableFuture<List<Movie>> future;
+
+        private AsyncQuery(String url, CompletableFuture<List<Movie>> future) {
+            this.url = url;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Constructor to initialize the API client with the shared on-disk response cache and the JSON parser.
      */
-    //public MovieAPI(Label statusLabel, boolean isTesting) {
     public MovieAPI() {
-        this.client = new OkHttpClient();
+        this(getDefaultCache());
+    }
+
+    /**
+     * Constructor to initialize the API client with its own on-disk response cache.
+     *
+     * @param cacheDirectory Directory the cached responses are written to.
+     * @param maxSizeBytes   Maximum size of the cache; once exceeded the least recently used responses are evicted.
+     */
+    public MovieAPI(File cacheDirectory, long maxSizeBytes) {
+        this(new Cache(cacheDirectory, maxSizeBytes));
+    }
+
+    /**
+     * Constructor to initialize the API client with the given response cache.
+     * Cached responses are keyed on the request URL. Stale entries that carry an ETag or Last-Modified header
+     * are revalidated with If-None-Match / If-Modified-Since, and a 304 answer is served from the cache.
+     *
+     * @param cache The response cache, or null to disable caching.
+     */
+    public MovieAPI(Cache cache) {
+        this.client = new OkHttpClient.Builder()
+                .cache(cache)
+                .build();
         this.gson = new Gson();
+        this.movieAdapter = gson.getAdapter(Movie.class);
+    }
+
+    /**
+     * Returns the response cache shared by all MovieAPI instances created with the default constructor.
+     *
+     * @return the shared Cache instance, or null if caching is disabled
+     */
+    private static synchronized Cache getDefaultCache() {
+        if (defaultCache == null) {
+            defaultCache = createCache();
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Creates a response cache configured by the system properties
+     * {@value #CACHE_DIRECTORY_PROPERTY} (directory of the cached responses, default ./cache/http) and
+     * {@value #CACHE_MAX_SIZE_PROPERTY} (maximum size in bytes, default 10 MiB, 0 disables caching).
+     * OkHttp evicts the least recently used responses once the maximum size is exceeded, it offers no other
+     * eviction policy.
+     *
+     * @return the configured Cache, or null if caching is disabled
+     */
+    static Cache createCache() {
+        long maxSize = Long.getLong(CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE);
+        if (maxSize <= 0) {
+            return null;
+        }
+        return new Cache(new File(System.getProperty(CACHE_DIRECTORY_PROPERTY, DEFAULT_CACHE_DIRECTORY)), maxSize);
     }
 
     /**
@@ -58,16 +144,143 @@ public class MovieAPI {
      */
     public List<Movie> fetchMovies(String query, Genre genre, Integer releaseYear, Double ratingFrom) throws MovieApiException {
         String finalUrl = buildUrl(query, genre, releaseYear, ratingFrom);
-        Request request = new Request.Builder()
+        // Concurrent callers asking for the same URL share one HTTP call
+        List<Movie> movies = requestCoalescer.execute(finalUrl, () -> {
+            List<Movie> fetched = new ArrayList<>();
+            streamUrl(finalUrl, fetched::add);
+            return fetched;
+        });
+        if (movies.isEmpty()) {
+            return List.of();
+        }
+        // Every caller gets its own copy, the shared result may be handed to several callers
+        return new ArrayList<>(movies);
+    }
+
+    /**
+     * Fetches movies from the API and hands them to the consumer one at a time while the response is still being read.
+     * The body is decoded directly from the network stream, so neither the raw JSON string nor the complete list
+     * of movies has to be held in memory.
+     *
+     * @param query       The search query (e.g., movie title or keywords). Can be null.
+     * @param genre       The selected genre for filtering. Can be null.
+     * @param releaseYear The year of release for filtering. Can be null.
+     * @param ratingFrom  The minimum rating for filtering. Can be null.
+     * @param consumer    Receives every decoded movie in the order of the response.
+     * @throws MovieApiException If the API request fails or the response cannot be decoded.
+     */
+    public void streamMovies(String query, Genre genre, Integer releaseYear, Double ratingFrom,
+                             Consumer<Movie> consumer) throws MovieApiException {
+        streamUrl(buildUrl(query, genre, releaseYear, ratingFrom), consumer);
+    }
+
+    /**
+     * Sends the request for the given URL and streams the decoded movies to the consumer.
+     *
+     * @param finalUrl The fully built request URL.
+     * @param consumer Receives every decoded movie.
+     * @throws MovieApiException If the API request fails or the response cannot be decoded.
+     */
+    private void streamUrl(String finalUrl, Consumer<Movie> consumer) throws MovieApiException {
+        try (Response response = getClient().newCall(buildRequest(finalUrl)).execute()) {
+            parseResponse(response, consumer);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            throw new MovieApiException("Failed to fetch movies from API", e);
+        }
+    }
+
+    /**
+     * Fetches movies asynchronously without blocking the calling thread.
+     * The request is enqueued on OkHttp's dispatcher and the response is decoded there. Like {@link #fetchMovies},
+     * concurrent callers asking for the same URL share one HTTP call through the {@link RequestCoalescer}.
+     * Sending a query with a different URL cancels the future of the previous one with a CancellationException,
+     * so a stale response can never overwrite a fresher one; its HTTP call is only cancelled if no other caller
+     * is waiting for it. Cancelling the returned future works the same way.
+     *
+     * @param query       The search query (e.g., movie title or keywords). Can be null.
+     * @param genre       The selected genre for filtering. Can be null.
+     * @param releaseYear The year of release for filtering. Can be null.
+     * @param ratingFrom  The minimum rating for filtering. Can be null.
+     * @return A future completed with the movies matching the filters, or exceptionally with a
+     * MovieApiException if the request fails.
+     */
+    public CompletableFuture<List<Movie>> fetchMoviesAsync(String query, Genre genre, Integer releaseYear, Double ratingFrom) {
+        String finalUrl;
+        try {
+            finalUrl = buildUrl(query, genre, releaseYear, ratingFrom);
+        } catch (MovieApiException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<List<Movie>> future = requestCoalescer.executeAsync(finalUrl, () -> enqueueUrl(finalUrl));
+        AsyncQuery latest = new AsyncQuery(finalUrl, future);
+        // A newer query makes an older one with other filters obsolete, the same query simply shares the call
+        AsyncQuery previous = latestAsyncQuery.getAndSet(latest);
+        if (previous != null && !previous.url.equals(finalUrl)) {
+            previous.future.cancel(true);
+        }
+        future.whenComplete((movies, error) -> latestAsyncQuery.compareAndSet(latest, null));
+        return future;
+    }
+
+    /**
+     * Enqueues the request for the given URL on OkHttp's dispatcher.
+     *
+     * @param finalUrl The fully built request URL.
+     * @return A future completed with the decoded movies; cancelling it cancels the HTTP call.
+     */
+    private CompletableFuture<List<Movie>> enqueueUrl(String finalUrl) {
+        CompletableFuture<List<Movie>> future = new CompletableFuture<>();
+        Call call = getClient().newCall(buildRequest(finalUrl));
+        future.whenComplete((movies, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                if (failedCall.isCanceled()) {
+                    future.completeExceptionally(new CancellationException("Request was cancelled"));
+                } else {
+                    future.completeExceptionally(new MovieApiException("Failed to fetch movies from API", e));
+                }
+            }
+
+            @Override
+            public void onResponse(Call respondedCall, Response response) {
+                try (response) {
+                    List<Movie> movies = new ArrayList<>();
+                    parseResponse(response, movies::add);
+                    if (respondedCall.isCanceled()) {
+                        future.completeExceptionally(new CancellationException("Request was cancelled"));
+                    } else {
+                        future.complete(movies);
+                    }
+                } catch (MovieApiException e) {
+                    future.completeExceptionally(e);
+                } catch (IOException | JsonParseException | IllegalStateException e) {
+                    future.completeExceptionally(respondedCall.isCanceled()
+                            ? new CancellationException("Request was cancelled")
+                            : new MovieApiException("Failed to fetch movies from API", e));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Builds the HTTP request for the given URL including the custom User-Agent header the API requires.
+     *
+     * @param finalUrl The fully built request URL.
+     * @return the Request
+     */
+    private Request buildRequest(String finalUrl) {
+        return new Request.Builder()
                 .url(finalUrl)
                 .header("User-Agent", "LiJuna_MaTata_FMHDb")
                 .build();
-
-        try (Response response = getClient().newCall(request).execute()) {
-            return parseResponse(response);
-        } catch (IOException e) {
-        throw new MovieApiException("Failed to fetch movies from API", e);
-        }
     }
 
     /**
@@ -97,30 +310,41 @@ public class MovieAPI {
     }
 
     /**
-     * Parses the JSON response of the HTTP request into a List of Movies
+     * Parses the JSON response of the HTTP request movie by movie.
+     * A JsonReader walks the top-level array on the body's character stream and every element
+     * is converted into a Movie and passed to the consumer before the next one is read.
      *
-     * @param response
-     * @return a list of movies as List<Movie>
-     * @throws IOException
+     * @param response the HTTP response containing a JSON array of movies
+     * @param consumer receives every decoded movie
+     * @throws IOException if reading the body fails
+     * @throws MovieApiException if the response is not successful
      */
-    private List<Movie> parseResponse(Response response) throws IOException, MovieApiException {
-        if (!response.isSuccessful() || response.body() == null) {
+    private void parseResponse(Response response, Consumer<Movie> consumer) throws IOException, MovieApiException {
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
             throw new MovieApiException("Error fetching movies: HTTP " + response.code());
             // HttpExceptionHandler.handle(response);
         }
 
-        // Converts the response body (which contains JSON) into a raw JSON string
-        String jsonResponse = response.body().string();
-        // Defines the type of the object we want to deserialize into: a List of Movie objects
-        // TypeToken is used to preserve generic type information at runtime
-        Type movieListType = new TypeToken<List<Movie>>() {}.getType();
-        // Uses Gson to convert the JSON string into a List<Movie> based on the specified type.
-        List<Movie> movies = gson.fromJson(jsonResponse, movieListType);
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            // An empty body or a JSON null means there are no movies
+            try {
+                if (reader.peek() == JsonToken.NULL) {
+                    return;
+                }
+            } catch (EOFException e) {
+                return;
+            }
 
-        if (movies == null || movies.isEmpty()) {
-            return List.of();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Movie movie = movieAdapter.read(reader);
+                if (movie != null) {
+                    consumer.accept(movie);
+                }
+            }
+            reader.endArray();
         }
-        return movies;
     }
 
     /**
@@ -133,6 +357,41 @@ public class MovieAPI {
         return fetchMovies(null, null, null, null);
     }
 
+    /**
+     * Returns the response cache of the client, e.g. to read its hit and network counters.
+     *
+     * @return the Cache instance, or null if caching is disabled
+     */
+    public Cache getCache() {
+        return getClient().cache();
+    }
+
+    /**
+     * Removes every stored response from the cache.
+     *
+     * @throws MovieApiException if the cache directory cannot be cleared
+     */
+    public void clearCache() throws MovieApiException {
+        Cache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evictAll();
+        } catch (IOException e) {
+            throw new MovieApiException("Failed to clear the response cache", e);
+        }
+    }
+
+    /**
+     * Returns the coalescer in front of fetchMovies and fetchMoviesAsync, e.g. to read how many calls were shared.
+     *
+     * @return the RequestCoalescer shared by all MovieAPI instances
+     */
+    public static RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     /**
      * Allows overriding OkHttpClient in tests.
      *
@@ -0,0 +1,231 @@
+package org.fhmdb.fhmdb_lijunamatata.api;
+
+import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical concurrent movie requests (single-flight).
+ * The first caller for a key executes the request, every caller arriving with the same key
+ * while that request is still in flight waits for it and receives the same result instead of
+ * starting another HTTP call. Once the request has finished the key is released again, so
+ * later calls always fetch fresh data.
+ * <p>
+ * Blocking ({@link #execute}) and asynchronous ({@link #executeAsync}) callers share the same in-flight
+ * requests. Every caller counts as a waiter of the shared request; an asynchronous caller stops waiting by
+ * cancelling its future, and the shared request is only cancelled once no caller is waiting for it anymore.
+ */
+public class RequestCoalescer {
+
+    /**
+     * A movie request that may fail with a MovieApiException.
+     */
+    @FunctionalInterface
+    public interface MovieRequest {
+        List<Movie> execute() throws MovieApiException;
+    }
+
+    /**
+     * A movie request that runs without blocking the calling thread.
+     * Cancelling the returned future has to cancel the request.
+     */
+    @FunctionalInterface
+    public interface AsyncMovieRequest {
+        CompletableFuture<List<Movie>> execute();
+    }
+
+    /**
+     * A request in flight together with the number of callers waiting for it, guarded by the coalescer.
+     */
+    private static final class SharedCall {
+        private final CompletableFuture<List<Movie>> result = new CompletableFuture<>();
+        private int waiters = 1;
+    }
+
+    private final Map<String, SharedCall> inFlight = new HashMap<>(); //guarded by this
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Executes the request unless an identical one is already running, in which case its result is awaited.
+     *
+     * @param key     Identifies identical requests, e.g. the final request URL.
+     * @param request The request to execute if no identical request is in flight.
+     * @return the (possibly shared) result of the request
+     * @throws MovieApiException if the executed request failed
+     */
+    public List<Movie> execute(String key, MovieRequest request) throws MovieApiException {
+        SharedCall call = new SharedCall();
+        SharedCall running = join(key, call);
+        if (running != null) {
+            try {
+                return await(running.result);
+            } finally {
+                leave(running);
+            }
+        }
+
+        try {
+            List<Movie> movies = request.execute();
+            call.result.complete(movies);
+            return movies;
+        } catch (Throwable e) {
+            // Also errors, otherwise the waiting callers would never be released
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            leave(call);
+        }
+    }
+
+    /**
+     * Starts the request unless an identical one is already running, in which case the returned future
+     * completes with the result of the running one.
+     * Cancelling the returned future only stops this caller from waiting; the shared request is cancelled
+     * once no other caller waits for it.
+     *
+     * @param key     Identifies identical requests, e.g. the final request URL.
+     * @param request Starts the request if no identical request is in flight.
+     * @return a future of this caller, completed with its own copy of the movies or exceptionally with the
+     * failure of the shared request
+     */
+    public CompletableFuture<List<Movie>> executeAsync(String key, AsyncMovieRequest request) {
+        SharedCall call = new SharedCall();
+        SharedCall running = join(key, call);
+        SharedCall shared = running != null ? running : call;
+        if (running == null) {
+            start(call, request);
+        }
+
+        CompletableFuture<List<Movie>> future = new CompletableFuture<>();
+        shared.result.whenComplete((movies, error) -> {
+            if (error != null) {
+                future.completeExceptionally(unwrap(error));
+            } else {
+                // Every caller gets its own copy, the shared result is handed to several callers
+                future.complete(new ArrayList<>(movies));
+            }
+        });
+        // Runs once for every caller, whether the shared request finished or this caller cancelled
+        future.whenComplete((movies, error) -> leave(shared));
+        return future;
+    }
+
+    /**
+     * Starts an asynchronous request and forwards its outcome to the shared result and a cancellation back.
+     */
+    private static void start(SharedCall call, AsyncMovieRequest request) {
+        CompletableFuture<List<Movie>> started;
+        try {
+            started = request.execute();
+        } catch (Throwable e) {
+            call.result.completeExceptionally(e);
+            return;
+        }
+        started.whenComplete((movies, error) -> {
+            if (error != null) {
+                call.result.completeExceptionally(unwrap(error));
+            } else {
+                call.result.complete(movies);
+            }
+        });
+        call.result.whenComplete((movies, error) -> {
+            if (call.result.isCancelled()) {
+                started.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Registers the caller for the key.
+     *
+     * @param key  Identifies identical requests.
+     * @param call The new request, used if none is in flight for the key.
+     * @return the request already in flight, or null if the caller has to execute the given one
+     */
+    private synchronized SharedCall join(String key, SharedCall call) {
+        SharedCall running = inFlight.get(key);
+        if (running != null && !running.result.isDone()) {
+            running.waiters++;
+            coalescedCount.incrementAndGet();
+            return running;
+        }
+        inFlight.put(key, call);
+        executedCount.incrementAndGet();
+        // Released as soon as it is finished, later calls have to fetch fresh data
+        call.result.whenComplete((movies, error) -> release(key, call));
+        return null;
+    }
+
+    /**
+     * Unregisters a caller and cancels the shared request if it was the last one waiting for it.
+     */
+    private void leave(SharedCall call) {
+        boolean abandoned;
+        synchronized (this) {
+            abandoned = --call.waiters == 0 && !call.result.isDone();
+        }
+        if (abandoned) {
+            call.result.cancel(true);
+        }
+    }
+
+    private synchronized void release(String key, SharedCall call) {
+        inFlight.remove(key, call);
+    }
+
+    /**
+     * Waits for a request started by another caller and unwraps its failure.
+     *
+     * @param running the in-flight request
+     * @return the result of the request
+     * @throws MovieApiException if the request failed or the waiting thread was interrupted
+     */
+    private List<Movie> await(CompletableFuture<List<Movie>> running) throws MovieApiException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MovieApiException("Interrupted while waiting for a shared request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            // Wrap the shared failure so every waiting caller gets its own exception and stack trace
+            throw new MovieApiException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * @return how many requests were actually executed
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * @return how many callers were served by a request that was already in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return how many distinct requests are currently in flight
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+}
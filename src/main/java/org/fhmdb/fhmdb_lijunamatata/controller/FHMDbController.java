@@ -3,28 +3,41 @@ package org.fhmdb.fhmdb_lijunamatata.controller;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
 import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistChange;
 import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistObserver;
 import org.fhmdb.fhmdb_lijunamatata.repositories.MovieRepository;
 import org.fhmdb.fhmdb_lijunamatata.repositories.WatchlistRepository;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieLoader;
 import org.fhmdb.fhmdb_lijunamatata.services.MovieService;
 import org.fhmdb.fhmdb_lijunamatata.state.SortContext;
 import org.fhmdb.fhmdb_lijunamatata.ui.MovieCell;
 import org.fhmdb.fhmdb_lijunamatata.utils.ClickEventHandler;
+import org.fhmdb.fhmdb_lijunamatata.utils.Debouncer;
+import org.fhmdb.fhmdb_lijunamatata.utils.KeyedObservableList;
+import org.fhmdb.fhmdb_lijunamatata.utils.PerformanceMonitor;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -40,8 +53,12 @@ public class FHMDbController implements WatchlistObserver {
     private Integer releaseYear;
     private Double rating;
     private final SortContext sortContext = new SortContext();
-    private ObservableList<Movie> movies;
-    private ObservableList<Movie> filteredMovies;
+    //All movies, replaced as a whole and never modified, so it can be read by background threads
+    private List<Movie> movies;
+    //The filtered movies shown in the list view, updated with minimal changes by diffing on the movie id
+    private final KeyedObservableList<Movie, String> displayedMovies = new KeyedObservableList<>(Movie::getId);
+    //Sorted view over displayedMovies with the comparator of the sort state, the list view shows this list
+    private final SortedList<Movie> sortedMovies = new SortedList<>(displayedMovies);
     private MovieService movieService; //do not make final or can't mock
     private String searchText = "";
 
@@ -55,13 +72,35 @@ public class FHMDbController implements WatchlistObserver {
     @FXML private Label statusLabel;
 
     private ClickEventHandler<Movie> onAddToWatchlistClicked;
+    //True once the handlers, debouncers and listeners are set up, only accessed on the JavaFX application thread
+    private boolean initialized;
 
-    //Scheduler for delaying filtering with API after keypress
+    //Delay of the search field and the combo boxes before filtering
+    static final long SEARCH_DEBOUNCE_MILLIS = 500;
+    static final long COMBO_BOX_DEBOUNCE_MILLIS = 300;
+
+    //Scheduler for delaying filtering with API after keypress, shared by the debouncers
     private ScheduledExecutorService scheduler;
-    //Filtering mechanism for filtering delayed
-    private Runnable filterTask;
+    //Filters once typing has paused
+    private Debouncer searchDebouncer;
+    //Filters right away when a combo box changes and once more after scrolling through its values
+    private Debouncer comboBoxDebouncer;
+    //Incremented for every filter request, so results of outdated requests can be discarded
+    private volatile long filterGeneration;
+    //The latest filter request, cancelled when the application is closed
+    private volatile CompletableFuture<List<Movie>> filterRequest;
+    //Number of threads for the short background jobs, so a watchlist add does not wait for a slow local filtering
+    static final int BACKGROUND_THREADS = 2;
+    //Runs the short jobs, the watchlist database writes and the local filtering, created on first use
+    private ExecutorService backgroundExecutor;
+    //Runs only the load of the movies, which can take long, so it never holds up the short jobs
+    private ExecutorService loadExecutor;
+    //Loads the movies at startup, null until loadMovies() is called
+    private Task<List<Movie>> loadTask;
 
     private WatchlistRepository watchlistRepository;
+    //Times the work done on the JavaFX application thread
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
 
     Logger logger = Logger.getLogger(FHMDbController.class.getName());
 
@@ -91,36 +130,33 @@ public class FHMDbController implements WatchlistObserver {
      * initializes the Controller by calling methods for initializing the elements of the class.
      * <p>
      * - The `searchText` is automatically updated whenever the user types in the `searchField`.
+     * - The movies are loaded in the background, see {@link #loadMovies()}, so the window is shown right away.
+     * <p>
+     * Also called every time the movie view is opened again. The handlers, debouncers and listeners are only
+     * set up on the first call, later calls only load the movies again.
      */
     @FXML
     public void initialize() {
         try {
-            //Initializing UI components and handlers
-            initializeClickHandlers();
-            initializeStatusLabel();
-            initializeSchedulers();
+            if (!this.initialized) {
+                //Initializing UI components and handlers
+                initializeClickHandlers();
+                initializeStatusLabel();
+                initializeSchedulers();
 
-            //Initializing data and UI components
-            initializeMovies();
-            initializeGenreComboBox();
-            initializeReleaseYearComboBox();
-            initializeRatingComboBox();
+                //Initializing UI components, the data is filled in when loading has finished
+                initializeGenreComboBox();
+                initializeReleaseYearComboBox();
+                initializeRatingComboBox();
 
-            //initializing ListView and Listeners
-            initializeMovieListView();
-            initializeListeners();
+                //initializing ListView and Listeners
+                initializeMovieListView();
+                initializeListeners();
+                this.initialized = true;
+            }
 
-            filterMovies();
+            loadMovies();
 
-        } catch (DatabaseException e) {
-            logger.severe("Database error during initialization: " + e.getMessage());
-            updateStatusLabel("Database error during initialization: " + e.getMessage(), true);
-        } catch (MovieApiException e) {
-            logger.severe("API error during initialization: " + e.getMessage());
-            updateStatusLabel("API error during initialization: " + e.getMessage(), true);
-        } catch (IOException e) {
-            logger.severe("IO error during initialization: " + e.getMessage());
-            updateStatusLabel("IO error during initialization: " + e.getMessage(), true);
         } catch (Exception e) {
             logger.severe("Failed to initialize: " + e.getMessage());
             updateStatusLabel("Failed to initialize application: " + e.getMessage(), true);
@@ -139,23 +175,25 @@ public class FHMDbController implements WatchlistObserver {
                 return;
             }
 
-            try {
-                // Convert Movie to MovieEntity to access the API ID
-                MovieEntity movieEntity = new MovieEntity(clickedMovie);
-                String apiId = movieEntity.getApiId();
-
-                // Add the movie to the watchlist
-                watchlistRepository.addToWatchlist(movieEntity);
-                logger.info("Added to watchlist: " + clickedMovie.getTitle());
-                showPopup("Watchlist", "✅ " + clickedMovie.getTitle() + " added to watchlist!");
-
-            } catch (DatabaseException dbException) {
-                logger.severe("Database error: " + dbException.getMessage());
-                showPopup("Database Error", "Could not add movie: " + dbException.getMessage());
-            } catch (Exception e) {
-                logger.severe("Unexpected error: " + e.getMessage());
-                showPopup("Error", "Unexpected error: " + e.getMessage());
-            }
+            // Writing to the database is done in the background, the popup is shown with Platform.runLater()
+            getBackgroundExecutor().execute(() -> {
+                try {
+                    // Convert Movie to MovieEntity to access the API ID
+                    MovieEntity movieEntity = new MovieEntity(clickedMovie);
+
+                    // Add the movie to the watchlist
+                    watchlistRepository.addToWatchlist(movieEntity);
+                    logger.info("Added to watchlist: " + clickedMovie.getTitle());
+                    showPopup("Watchlist", "✅ " + clickedMovie.getTitle() + " added to watchlist!");
+
+                } catch (DatabaseException dbException) {
+                    logger.severe("Database error: " + dbException.getMessage());
+                    showPopup("Database Error", "Could not add movie: " + dbException.getMessage());
+                } catch (Exception e) {
+                    logger.severe("Unexpected error: " + e.getMessage());
+                    showPopup("Error", "Unexpected error: " + e.getMessage());
+                }
+            });
         };
     }
 
@@ -168,67 +206,184 @@ public class FHMDbController implements WatchlistObserver {
     }
 
     /**
-     * Adding the scheduler to help with delaying input and query search
+     * Adding the scheduler and the debouncers to help with delaying input and query search.
+     * The scheduler lives as long as the controller, see {@link #shutdownScheduler()}.
      */
     private void initializeSchedulers() {
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        if (this.scheduler == null || this.scheduler.isShutdown()) {
+            this.scheduler = Debouncer.newScheduler("fhmdb-debouncer");
+        }
+        this.searchDebouncer = new Debouncer(this.scheduler, SEARCH_DEBOUNCE_MILLIS);
+        this.comboBoxDebouncer = new Debouncer(this.scheduler, COMBO_BOX_DEBOUNCE_MILLIS, true, true);
     }
 
     /**
      * Adding listeners to the search field (searchText) and
-     * changing the genre in the genreComboBox. Old value is compared with new one.
+     * changing the genre, releaseYear and rating in the combo boxes. Old value is compared with new one.
+     * Every change filters the movies through a debouncer.
      */
     private void initializeListeners() {
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
             searchText = newValue;
-            if (filterTask != null) {
-                scheduler.shutdownNow();
-                initializeSchedulers();
-            }
-            filterTask = () -> Platform.runLater(() -> {
-                try {
-                    filterMovies();
-                } catch (Exception e) {
-                    logger.severe("Error filtering movies: " + e.getMessage());
-                    updateStatusLabel("Error filtering movies: " + e.getMessage(), true);
-                }
-            });
-            scheduler.schedule(filterTask, 500, TimeUnit.MILLISECONDS);
+            searchDebouncer.call(this::requestFiltering);
         });
 
-        genreComboBox.valueProperty().addListener((observable, oldValue, newValue) -> genre = newValue);
-        releaseYearComboBox.valueProperty().addListener((observable, oldValue, newValue) -> releaseYear = newValue);
-        ratingComboBox.valueProperty().addListener((observable, oldValue, newValue) -> updateRatingFilter(newValue));
+        genreComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            genre = newValue;
+            comboBoxDebouncer.call(this::requestFiltering);
+        });
+        releaseYearComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            releaseYear = newValue;
+            comboBoxDebouncer.call(this::requestFiltering);
+        });
+        ratingComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            updateRatingFilter(newValue);
+            comboBoxDebouncer.call(this::requestFiltering);
+        });
+    }
+
+    /**
+     * Runs filterMovies() on the JavaFX application thread, called by the debouncers.
+     * filterMovies() only reads the criteria and starts the request, the work is done in the background.
+     */
+    private void requestFiltering() {
+        runOnFxThread(() -> {
+            try {
+                filterMovies();
+            } catch (Exception e) {
+                logger.severe("Error filtering movies: " + e.getMessage());
+                updateStatusLabel("Error filtering movies: " + e.getMessage(), true);
+            }
+        });
     }
 
     /**
      * Initializes movieListView element and setting the MovieCell onto the view
      */
     private void initializeMovieListView() {
-        movieListView.setItems(this.filteredMovies);
+        movieListView.setItems(this.sortedMovies);
         movieListView.setCellFactory(movieListView -> new MovieCell(onAddToWatchlistClicked));
     }
 
     /**
-     * Initializes the ObservableArrayList() of movies and filteredMovies
+     * Returns the executor running the short jobs of the controller, the watchlist database writes and
+     * the local filtering, created on first use. Loading the movies runs on its own executor,
+     * see {@link #getLoadExecutor()}, so these jobs are never queued behind the download of the catalog.
+     *
+     * @return the background executor
+     */
+    private synchronized ExecutorService getBackgroundExecutor() {
+        if (backgroundExecutor == null || backgroundExecutor.isShutdown()) {
+            backgroundExecutor = Executors.newFixedThreadPool(BACKGROUND_THREADS, daemonThreadFactory("fhmdb-background"));
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * Returns the executor loading the movies, created on first use.
+     * Only one load runs at a time, see {@link #loadMovies()}.
+     *
+     * @return the load executor
+     */
+    private synchronized ExecutorService getLoadExecutor() {
+        if (loadExecutor == null || loadExecutor.isShutdown()) {
+            loadExecutor = Executors.newSingleThreadExecutor(daemonThreadFactory("fhmdb-loader"));
+        }
+        return loadExecutor;
+    }
+
+    /**
+     * Creates daemon threads, so the executors of the controller never keep the application alive.
+     *
+     * @param name prefix of the thread names
+     * @return the thread factory
+     */
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Loads the movies in the background with a {@link MovieLoader}: fetching and parsing them from the API
+     * and storing them in the database. A load that is still running, e.g. when the movie view is opened again
+     * before the first load has finished, is kept and no second download of the catalog is started.
+     * The progress is shown in the statusLabel; when loading has finished the movies are published
+     * on the JavaFX application thread and filtered with the current criteria.
      */
-    private void initializeMovies() throws MovieApiException, DatabaseException, IOException {
-        updateStatusLabel("Loading movies...", false);
-        this.movies = FXCollections.observableArrayList(Movie.initializeMovies());
+    void loadMovies() {
+        // isDone() of the FutureTask, isRunning() only turns true once the FX thread has processed the state change
+        if (loadTask != null && !loadTask.isDone()) {
+            logger.info("Movies are still loading, reusing the running load");
+            return;
+        }
 
-        initializeMovieRepository();
+        Task<List<Movie>> task = new Task<>() {
+            @Override
+            protected List<Movie> call() throws Exception {
+                return createMovieLoader().load((message, isError) -> updateMessage(message), this::isCancelled);
+            }
+        };
+        task.messageProperty().addListener((observable, oldValue, message) -> updateStatusLabel(message, false));
+        task.setOnSucceeded(event -> onMoviesLoaded(task.getValue()));
+        task.setOnFailed(event -> onMoviesLoadFailed(task.getException()));
+        task.setOnCancelled(event -> updateStatusLabel("Loading movies cancelled", false));
 
-        this.filteredMovies = FXCollections.observableArrayList(this.movies);
+        this.loadTask = task;
+        getLoadExecutor().execute(task);
+    }
+
+    /**
+     * Creates the loader used by {@link #loadMovies()}. Called on the load thread.
+     *
+     * @return a loader reading from the API and storing into the movie repository
+     * @throws DatabaseException if the movie repository cannot be initialized
+     */
+    MovieLoader createMovieLoader() throws DatabaseException {
+        return new MovieLoader(new MovieAPI(), MovieRepository.getInstance());
+    }
+
+    /**
+     * Cancels loading the movies if it is still running.
+     */
+    public void cancelLoading() {
+        if (loadTask != null && loadTask.isRunning()) {
+            loadTask.cancel();
+        }
+    }
+
+    /**
+     * Publishes the loaded movies to the UI. Runs on the JavaFX application thread.
+     *
+     * @param loadedMovies all movies of the API
+     */
+    private void onMoviesLoaded(List<Movie> loadedMovies) {
+        this.movies = Collections.unmodifiableList(loadedMovies);
+        this.displayedMovies.update(this.movies);
+        initializeReleaseYearComboBox();
         updateStatusLabel("", false);
+
+        filterMovies();
     }
 
     /**
-     * initializes the repository with the movies from the database
+     * Shows why loading the movies failed. Runs on the JavaFX application thread.
+     *
+     * @param error the exception thrown by the {@link MovieLoader}
      */
-    private void initializeMovieRepository() throws DatabaseException {
-        MovieRepository movieRepository = MovieRepository.getInstance();
-        if (movieRepository.getAllMovies().isEmpty()) {
-            movieRepository.addAllMovies(MovieEntity.fromMovies(movies));
+    private void onMoviesLoadFailed(Throwable error) {
+        if (error instanceof DatabaseException) {
+            logger.severe("Database error during initialization: " + error.getMessage());
+            updateStatusLabel("Database error during initialization: " + error.getMessage(), true);
+        } else if (error instanceof MovieApiException) {
+            logger.severe("API error during initialization: " + error.getMessage());
+            updateStatusLabel("API error during initialization: " + error.getMessage(), true);
+        } else {
+            logger.severe("Failed to initialize: " + error);
+            updateStatusLabel("Failed to initialize application: " + error, true);
         }
     }
 
@@ -244,14 +399,14 @@ public class FHMDbController implements WatchlistObserver {
     }
 
     /**
-     * Initializes a releaseYear ComboBox with a "no year" option followed by all distinct years from filtered Movies.
+     * Initializes a releaseYear ComboBox with a "no year" option followed by all distinct years of the movies.
      * The first item, representing "no year", is selected by default.
      */
     private void initializeReleaseYearComboBox() {
         ObservableList<Integer> releaseYearOptions = FXCollections.observableArrayList();
         releaseYearOptions.add(null);
-        if (filteredMovies != null && !filteredMovies.isEmpty()) {
-            List<Integer> years = filteredMovies.stream()
+        if (movies != null && !movies.isEmpty()) {
+            List<Integer> years = movies.stream()
                     .filter(Objects::nonNull)
                     .map(Movie::getReleaseYear)
                     .distinct()
@@ -312,24 +467,25 @@ public class FHMDbController implements WatchlistObserver {
     /**
      * Sorts the list of movies based on the current sorting order.
      * Update: The sorting order and sorting mechanism is now done by the State Pattern SortContext()
+     * The comparator of the state is set on the SortedList shown by the list view, which reorders it in place.
      * Updates the button text and refreshes the movie list view.
      */
     void sortMovies() {
-        if (this.filteredMovies == null || this.filteredMovies.isEmpty()) {
+        if (this.displayedMovies.isEmpty()) {
             return;
         }
+        long start = performanceMonitor.startTimer();
 
         //Iterating to the next state, e.g. unsorted, asc or desc
         sortContext.nextState();
-
-        List<Movie> sortedMovies = sortContext.sort(new ArrayList<>(this.filteredMovies));
-        this.filteredMovies = FXCollections.observableList(sortedMovies);
+        this.sortedMovies.setComparator(sortContext.getComparator());
 
         updateSortButtonText();
         updateMovieListView(this.searchText, 
                           this.genre != null ? this.genre.name() : "", 
                           this.releaseYear != null ? this.releaseYear : 0, 
                           this.rating != null ? this.rating : 0.0);
+        performanceMonitor.stopTimer(PerformanceMonitor.ACTION_SORT, start);
     }
 
     /**
@@ -352,81 +508,142 @@ public class FHMDbController implements WatchlistObserver {
     }
 
     /**
-     * Calls the fetchFilteredMovies() method from movieService if API is accessible,
-     * otherwise referring to local filtering mechanism in movieService
+     * Calls the fetchFilteredMoviesAsync() method from movieService if API is accessible,
+     * otherwise referring to local filtering mechanism in movieService.
+     * The request and the local filtering run in the background, so the JavaFX application thread is never blocked.
+     * The result is published on the JavaFX application thread, results of outdated queries are discarded.
      * Updating the movieListView and the sortingState during the process
      */
     void filterMovies() {
         if (this.movies == null) {
             return;
         }
-        
+        // Measures the time on the FX thread and, until the result is shown, the latency of the query
+        long start = performanceMonitor.startTimer();
+
+        // Every query gets a new generation, only the result of the latest one may update the UI
+        long generation = ++this.filterGeneration;
+        // The criteria and the movies are read here, the background thread must not touch the UI state
+        String query = this.searchText;
+        Genre queryGenre = this.genre;
+        Integer queryReleaseYear = this.releaseYear;
+        Double queryRating = this.rating;
+        List<Movie> allMovies = this.movies;
+
+        CompletableFuture<List<Movie>> request;
         try {
-            List<Movie> filtered;
-            
-            // Trying to fetch filtered movies from API first
-            try {
-                filtered = this.movieService.fetchFilteredMovies(
-                    this.searchText.isEmpty() ? null : this.searchText, this.genre,
-                    this.releaseYear, this.rating
-                );
-                // Update the local movies list with the fresh data from API
-                if (filtered != null && !filtered.isEmpty()) {
-                    this.movies = FXCollections.observableArrayList(filtered);
-                }
-            } catch (Exception e) {
-                // If API call fails, fall back to local filtering
-                logger.warning("API call failed, using local filtering: " + e.getMessage());
-                filtered = this.movieService.filterMovies(
-                    this.movies, this.searchText, this.genre, this.releaseYear, this.rating
-                );
+            request = this.movieService.fetchFilteredMoviesAsync(
+                query.isEmpty() ? null : query, queryGenre, queryReleaseYear, queryRating
+            );
+        } catch (Exception e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        if (request == null) {
+            request = CompletableFuture.failedFuture(new MovieApiException("No response from movie service"));
+        }
+        this.filterRequest = request;
+
+        request.whenCompleteAsync((filtered, error) -> {
+            if (generation != this.filterGeneration) {
+                return;
             }
-            
-            // Apply the current sort state if not in unsorted state
-            if (!sortContext.isUnsorted() && filtered != null) {
-                filtered = sortContext.sort(filtered);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                // A newer query has replaced this one, its result will update the view
+                return;
             }
-            
-            this.filteredMovies = filtered != null ? 
-                FXCollections.observableArrayList(filtered) : 
-                FXCollections.observableArrayList();
-            
+
+            List<Movie> result = filtered;
+            if (cause != null) {
+                // If API call fails, fall back to local filtering
+                logger.warning("API call failed, using local filtering: " + cause.getMessage());
+                try {
+                    result = this.movieService.filterMovies(
+                        allMovies, query, queryGenre, queryReleaseYear, queryRating
+                    );
+                } catch (Exception e) {
+                    logger.severe("Error filtering movies: " + e.getMessage());
+                    runOnFxThread(() -> updateStatusLabel("Error filtering movies: " + e.getMessage(), true));
+                    return;
+                }
+            }
+
+            List<Movie> finalResult = result;
+            runOnFxThread(() -> {
+                if (generation == this.filterGeneration) {
+                    applyFilterResult(finalResult);
+                    performanceMonitor.stopTimer(PerformanceMonitor.ACTION_QUERY, start);
+                }
+            });
+        }, getBackgroundExecutor());
+        performanceMonitor.stopTimer(PerformanceMonitor.ACTION_FILTER, start);
+    }
+
+    /**
+     * Applies the result of a filter request to the list view. Runs on the JavaFX application thread.
+     * <p>
+     * The movies of the catalog are kept as loaded, the result of the API only replaces the shown movies,
+     * so the local filtering keeps working on the whole catalog and its index stays valid.
+     *
+     * @param filtered the filtered movies
+     */
+    private void applyFilterResult(List<Movie> filtered) {
+        long start = performanceMonitor.startTimer();
+        try {
+            // Only the differences are applied, the SortedList keeps the current sort state
+            this.displayedMovies.update(filtered != null ? filtered : List.of());
+
             // Update the UI
             updateMovieListView(
                 this.searchText, this.genre != null ? this.genre.name() : "",
                 this.releaseYear != null ? this.releaseYear : 0, this.rating != null ? this.rating : 0.0
             );
-            
+
         } catch (Exception e) {
             logger.severe("Error filtering movies: " + e.getMessage());
             updateStatusLabel("Error filtering movies: " + e.getMessage(), true);
+        } finally {
+            performanceMonitor.stopTimer(PerformanceMonitor.ACTION_APPLY_FILTER, start);
         }
     }
 
     /**
-     * Updates the movie list view by clearing and repopulating it with sorted movie titles.
-     * Ensures the UI list correctly reflects the current order of movies.
+     * Runs the given action on the JavaFX application thread,
+     * directly if the caller already is on it, otherwise with Platform.runLater().
+     *
+     * @param action the UI update to run
+     */
+    private void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    /**
+     * Updates the status label for the movies shown in the movie list view.
+     * The list view shows the sorted view of displayedMovies, which is updated incrementally,
+     * so its items are never cleared and repopulated.
      */
     void updateMovieListView(String searchText, String genre, int releaseYear, double rating) {
         if (this.movieListView == null) {
             return;
         }
-        
-        this.movieListView.getItems().clear();
-        
-        if (this.filteredMovies != null) {
-            this.movieListView.getItems().addAll(this.filteredMovies);
-            
-            if (this.filteredMovies.isEmpty()) {
-                logger.info("No movies found!");
-                updateStatusLabel("No movies found!", false);
-            } else {
-                logger.info("Movies found, updating status label");
-                updateStatusLabel(String.format(
-                    "Movies found with Query = %s / Genre = %s / ReleaseYear = %d and Rating from %.1f", searchText,
-                    genre != null && !genre.isEmpty() ? genre : "Any", releaseYear, rating
-                ), false);
-            }
+
+        if (this.movieListView.getItems() != this.sortedMovies) {
+            this.movieListView.setItems(this.sortedMovies);
+        }
+
+        if (this.displayedMovies.isEmpty()) {
+            logger.info("No movies found!");
+            updateStatusLabel("No movies found!", false);
+        } else {
+            logger.info("Movies found, updating status label");
+            updateStatusLabel(String.format(
+                "Movies found with Query = %s / Genre = %s / ReleaseYear = %d and Rating from %.1f", searchText,
+                genre != null && !genre.isEmpty() ? genre : "Any", releaseYear, rating
+            ), false);
         }
     }
 
@@ -447,11 +664,31 @@ public class FHMDbController implements WatchlistObserver {
 
     /**
      * Shuts down the scheduler which is setup in the Controller.
-     * Without this option the scheduler would still run after the Application is closed
+     * Without this option the scheduler would still run after the Application is closed.
+     * Loading the movies and a running filter request are cancelled as well.
      */
     public void shutdownScheduler() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        if (comboBoxDebouncer != null) {
+            comboBoxDebouncer.cancel();
+        }
         if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
+            scheduler.shutdownNow();
+        }
+        cancelLoading();
+        CompletableFuture<List<Movie>> request = this.filterRequest;
+        if (request != null) {
+            request.cancel(true);
+        }
+        synchronized (this) {
+            if (backgroundExecutor != null) {
+                backgroundExecutor.shutdownNow();
+            }
+            if (loadExecutor != null) {
+                loadExecutor.shutdownNow();
+            }
         }
     }
 
@@ -465,14 +702,33 @@ public class FHMDbController implements WatchlistObserver {
         updateStatusLabel("Watchlist updated: " + updatedWatchlist.size() + " movies", false);
     }
 
+    /**
+     * The controller updates its UI elements, so changes are delivered on the JavaFX thread
+     * @return true
+     */
+    @Override
+    public boolean requiresFxThread() {
+        return true;
+    }
+
+    /**
+     * overridden method to show the new watchlist size without loading the watchlist
+     * @param change the added and removed movies
+     */
+    @Override
+    public void onWatchlistChanged(WatchlistChange change) {
+        logger.info("Watchlist updated: " + change.getSize() + " movies");
+        updateStatusLabel("Watchlist updated: " + change.getSize() + " movies", false);
+    }
+
     //Getter, Setter
     public void setMovies(List<Movie> movies) {
-        this.movies = FXCollections.observableList(movies);
+        this.movies = Collections.unmodifiableList(new ArrayList<>(movies));
     }
 
     public void setFilteredMovies(List<Movie> movies) {
         if (movies != null) {
-            this.filteredMovies = FXCollections.observableList(movies);
+            this.displayedMovies.update(movies);
         }
     }
 
@@ -480,8 +736,11 @@ public class FHMDbController implements WatchlistObserver {
         return sortContext;
     }
 
+    /**
+     * @return the filtered movies in the order of the current sort state
+     */
     public ObservableList<Movie> getFilteredMovies() {
-        return filteredMovies;
+        return sortedMovies;
     }
 
     void showPopup(String title, String content) {
@@ -8,22 +8,28 @@ import javafx.scene.control.ListView;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistChange;
 import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistObserver;
 import org.fhmdb.fhmdb_lijunamatata.repositories.WatchlistRepository;
 import org.fhmdb.fhmdb_lijunamatata.ui.WatchlistCell;
 import org.fhmdb.fhmdb_lijunamatata.utils.ClickEventHandler;
+import org.fhmdb.fhmdb_lijunamatata.utils.PerformanceMonitor;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import org.fhmdb.fhmdb_lijunamatata.utils.StatusUpdatable;
 
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 public class WatchlistController implements WatchlistObserver, StatusUpdatable {
 
     private ObservableList<Movie> watchlistMovies;
+    //Position of every shown movie by its apiId, so a change can patch watchlistMovies without searching it
+    private final Map<String, Integer> watchlistPositions = new HashMap<>();
 
     @FXML
     private ListView<Movie> watchlistView;
@@ -36,6 +42,7 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
     private WatchlistRepository watchlistRepository;
 
     Logger logger = Logger.getLogger(WatchlistController.class.getName());
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
 
     public WatchlistController() {
         try {
@@ -80,12 +87,10 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
                 showPopup("Watchlist", "🗑 " + clickedMovie.getTitle() + " removed from watchlist.");
 
                 // Convert to MovieEntity for database deletion
+                // the list is patched by onWatchlistChanged(WatchlistChange), no reload needed
                 MovieEntity movieEntity = new MovieEntity(clickedMovie);
                 watchlistRepository.removeFromWatchlist(movieEntity.getApiId());
 
-                // Refresh list
-                refreshWatchlist();
-
             } catch (DatabaseException e) {
                 logger.severe("Error removing movie from watchlist: " + e.getMessage());
                 showPopup("Database Error", "Failed to remove movie: " + e.getMessage());
@@ -102,6 +107,7 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
      * "Refresher" method
      */
     protected void refreshWatchlist() {
+        long start = performanceMonitor.startTimer();
         try {
             initializeWatchlistMovies();
         } catch (DatabaseException e) {
@@ -109,6 +115,7 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
             updateStatusLabel("Failed to load watchlist movies: " + e.getMessage(), true);
         }
         initializeWatchlistView();
+        performanceMonitor.stopTimer(PerformanceMonitor.ACTION_WATCHLIST_REFRESH, start);
     }
 
     /**
@@ -124,7 +131,7 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
      */
     private void initializeWatchlistView() {
         if (watchlistMovies == null) {
-            watchlistMovies = FXCollections.observableArrayList();
+            showWatchlistMovies(FXCollections.observableArrayList());
         }
         watchlistView.getItems().clear();
         watchlistView.setItems(watchlistMovies);
@@ -139,7 +146,7 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
         updateStatusLabel("Loading watchlist...", false);
         List<MovieEntity> watchlistMovieEntities = watchlistRepository.getWatchlistMovies();
         List<Movie> movies = MovieEntity.toMovies(watchlistMovieEntities);
-        this.watchlistMovies = FXCollections.observableArrayList(movies);
+        showWatchlistMovies(FXCollections.observableArrayList(movies));
         if (watchlistMovies.isEmpty()) {
             updateStatusLabel("No movies in watchlist!", false);
         } else {
@@ -170,14 +177,89 @@ public class WatchlistController implements WatchlistObserver, StatusUpdatable {
     @Override
     public void onWatchlistChanged(List<Movie> updatedWatchlist) {
         logger.info("Watchlist updated. Number of movies: " + updatedWatchlist.size());
+        long start = performanceMonitor.startTimer();
         setWatchlistMovies(updatedWatchlist);
         initializeWatchlistView();
+        performanceMonitor.stopTimer(PerformanceMonitor.ACTION_WATCHLIST_REFRESH, start);
         updateStatusLabel("Watchlist updated: " + updatedWatchlist.size() + " movies", false);
     }
 
+    /**
+     * The controller updates its UI elements, so changes are delivered on the JavaFX thread
+     * @return true
+     */
+    @Override
+    public boolean requiresFxThread() {
+        return true;
+    }
+
+    /**
+     * Overridden method to patch the shown watchlist with the delta of the change
+     * instead of reloading it, only a full refresh loads the whole watchlist.
+     * Removed movies are found by their position instead of searching the list. The last movie takes the place
+     * of a removed one, so nothing has to be shifted; the watchlist has no order of its own to keep.
+     * @param change the added and removed movies
+     */
+    @Override
+    public void onWatchlistChanged(WatchlistChange change) throws DatabaseException {
+        if (change.isFullRefresh()) {
+            onWatchlistChanged(change.getSnapshot());
+            return;
+        }
+        logger.info("Watchlist updated. Number of movies: " + change.getSize());
+        long start = performanceMonitor.startTimer();
+        if (watchlistMovies == null) {
+            showWatchlistMovies(FXCollections.observableArrayList());
+        }
+        for (String apiId : change.getRemoved().keySet()) {
+            removeWatchlistMovie(apiId);
+        }
+        for (Movie added : change.getAdded().values()) {
+            // the movie may already be shown if the change overlaps with a reload
+            if (added != null && watchlistPositions.putIfAbsent(added.getId(), watchlistMovies.size()) == null) {
+                watchlistMovies.add(added);
+            }
+        }
+        if (watchlistView != null && watchlistView.getItems() != watchlistMovies) {
+            initializeWatchlistView();
+        }
+        updateStatusLabel("Watchlist updated: " + change.getSize() + " movies", false);
+        performanceMonitor.stopTimer(PerformanceMonitor.ACTION_WATCHLIST_REFRESH, start);
+    }
+
+    /**
+     * Removes the movie with the given apiId by moving the last movie into its place.
+     * @param apiId the apiId of the removed movie, ignored if it is not shown
+     */
+    private void removeWatchlistMovie(String apiId) {
+        Integer position = watchlistPositions.remove(apiId);
+        if (position == null) {
+            return;
+        }
+        int last = watchlistMovies.size() - 1;
+        if (position != last) {
+            Movie moved = watchlistMovies.get(last);
+            watchlistMovies.set(position, moved);
+            watchlistPositions.put(moved.getId(), position);
+        }
+        watchlistMovies.remove(last);
+    }
+
+    /**
+     * Replaces the shown movies and indexes their positions.
+     * @param movies the movies to show
+     */
+    private void showWatchlistMovies(ObservableList<Movie> movies) {
+        this.watchlistMovies = movies;
+        watchlistPositions.clear();
+        for (int position = 0; position < movies.size(); position++) {
+            watchlistPositions.putIfAbsent(movies.get(position).getId(), position);
+        }
+    }
+
     //Getter, Setter
     public void setWatchlistMovies(List<Movie> watchlistMovies) {
-        this.watchlistMovies = FXCollections.observableList(watchlistMovies);
+        showWatchlistMovies(FXCollections.observableList(watchlistMovies));
     }
 
     /**
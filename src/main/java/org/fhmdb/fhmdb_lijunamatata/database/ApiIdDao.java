@@ -0,0 +1,229 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO for entities whose natural key is the movie's API ID.
+ * The apiId column has a unique index, so every lookup, delete and upsert by API ID is an index access
+ * instead of a table scan.
+ *
+ * @param <T> the entity class, mapped with a generated id and a unique apiId column
+ */
+public abstract class ApiIdDao<T> extends BaseDaoImpl<T, Long> {
+    public static final String API_ID_COLUMN = "apiId";
+
+    private String mergeStatement; // MERGE for all columns except the generated id, built on first use
+
+    protected ApiIdDao(ConnectionSource connectionSource, Class<T> dataClass) throws SQLException {
+        super(connectionSource, dataClass);
+    }
+
+    /**
+     * @param apiId API ID of the movie
+     * @return the entity with the given API ID, or null if there is none
+     * @throws SQLException if the query fails
+     */
+    public T queryForApiId(String apiId) throws SQLException {
+        return queryBuilder().where().eq(API_ID_COLUMN, new SelectArg(apiId)).queryForFirst();
+    }
+
+    /**
+     * @param apiId API ID of the movie
+     * @return true if an entity with the given API ID exists
+     * @throws SQLException if the query fails
+     */
+    public boolean existsByApiId(String apiId) throws SQLException {
+        QueryBuilder<T, Long> queryBuilder = queryBuilder();
+        queryBuilder.setCountOf(true);
+        queryBuilder.where().eq(API_ID_COLUMN, new SelectArg(apiId));
+        return countOf(queryBuilder.prepare()) > 0;
+    }
+
+    /**
+     * @param apiId API ID of the movie
+     * @return the number of deleted rows, 0 or 1
+     * @throws SQLException if the delete fails
+     */
+    public int deleteByApiId(String apiId) throws SQLException {
+        DeleteBuilder<T, Long> deleteBuilder = deleteBuilder();
+        deleteBuilder.where().eq(API_ID_COLUMN, new SelectArg(apiId));
+        return deleteBuilder.delete();
+    }
+
+    /**
+     * Loads the entities with the given API IDs. The IDs are queried in chunks of the batch size,
+     * so large collections do not end up in a single huge IN list.
+     *
+     * @param apiIds    API IDs of the movies
+     * @param batchSize number of API IDs per query
+     * @return the found entities, unknown API IDs are skipped
+     * @throws SQLException if a query fails
+     */
+    public List<T> queryForApiIds(Collection<String> apiIds, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<String> ids = new ArrayList<>(apiIds);
+        List<T> entities = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<String> chunk = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            entities.addAll(queryBuilder().where().in(API_ID_COLUMN, chunk).query());
+        }
+        return entities;
+    }
+
+    /**
+     * Deletes the entities with the given API IDs with one batched DELETE statement.
+     * Runs on the connection of the current transaction if called inside one.
+     *
+     * @param apiIds    API IDs of the movies
+     * @param batchSize number of rows sent to the database per batch
+     * @return the number of deleted rows
+     * @throws SQLException if a statement fails
+     */
+    public int deleteAllByApiId(Collection<String> apiIds, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (apiIds.isEmpty()) {
+            return 0;
+        }
+        DatabaseType databaseType = connectionSource.getDatabaseType();
+        StringBuilder sql = new StringBuilder("DELETE FROM ");
+        databaseType.appendEscapedEntityName(sql, getTableInfo().getTableName());
+        sql.append(" WHERE ");
+        databaseType.appendEscapedEntityName(sql, API_ID_COLUMN);
+        sql.append(" = ?");
+
+        int deleted = 0;
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(getTableInfo().getTableName());
+        try (PreparedStatement statement = connection.getUnderlyingConnection().prepareStatement(sql.toString())) {
+            int pending = 0;
+            for (String apiId : apiIds) {
+                statement.setString(1, apiId);
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    deleted += sum(statement.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                deleted += sum(statement.executeBatch());
+            }
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+        return deleted;
+    }
+
+    private static int sum(int[] updateCounts) {
+        int sum = 0;
+        for (int count : updateCounts) {
+            sum += Math.max(count, 0);
+        }
+        return sum;
+    }
+
+    /**
+     * Inserts the entity, or updates the row with the same API ID, and sets its id.
+     *
+     * @param entity the entity to save
+     * @throws SQLException if the statement fails
+     */
+    public void upsertByApiId(T entity) throws SQLException {
+        upsertAllByApiId(List.of(entity), 1);
+    }
+
+    /**
+     * Inserts the entities, or updates the rows with the same API ID, with batched MERGE statements.
+     * The ids of the saved rows are set on the entities.
+     * Runs on the connection of the current transaction if called inside one.
+     *
+     * @param entities  the entities to save
+     * @param batchSize number of rows sent to the database per batch
+     * @throws SQLException if a statement fails
+     */
+    public void upsertAllByApiId(List<T> entities, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+        String sql = getMergeStatement();
+        FieldType idField = getTableInfo().getIdField();
+        // inside a transaction this returns the connection of the transaction
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(getTableInfo().getTableName());
+        try (PreparedStatement statement = connection.getUnderlyingConnection()
+                .prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < entities.size(); start += batchSize) {
+                List<T> batch = entities.subList(start, Math.min(start + batchSize, entities.size()));
+                for (T entity : batch) {
+                    int index = 1;
+                    for (FieldType fieldType : getTableInfo().getFieldTypes()) {
+                        if (!fieldType.isGeneratedId()) {
+                            statement.setObject(index++, fieldType.extractJavaFieldToSqlArgValue(entity));
+                        }
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                // H2 returns the id of every merged row, inserted or updated, in batch order
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (T entity : batch) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated id for " + entity);
+                        }
+                        idField.assignField(connectionSource, entity, generatedKeys.getLong(1), false, null);
+                    }
+                }
+            }
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Builds the MERGE statement from the ORMLite mapping of the entity, escaped for the database in use.
+     */
+    private synchronized String getMergeStatement() {
+        if (mergeStatement == null) {
+            DatabaseType databaseType = connectionSource.getDatabaseType();
+            StringBuilder columns = new StringBuilder();
+            StringBuilder values = new StringBuilder();
+            for (FieldType fieldType : getTableInfo().getFieldTypes()) {
+                if (fieldType.isGeneratedId()) {
+                    continue;
+                }
+                if (columns.length() > 0) {
+                    columns.append(", ");
+                    values.append(", ");
+                }
+                databaseType.appendEscapedEntityName(columns, fieldType.getColumnName());
+                values.append('?');
+            }
+            StringBuilder sql = new StringBuilder("MERGE INTO ");
+            databaseType.appendEscapedEntityName(sql, getTableInfo().getTableName());
+            sql.append(" (").append(columns).append(") KEY (");
+            databaseType.appendEscapedEntityName(sql, API_ID_COLUMN);
+            mergeStatement = sql.append(") VALUES (").append(values).append(')').toString();
+        }
+        return mergeStatement;
+    }
+}
@@ -0,0 +1,89 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool that limits the number of connections handed out at the same time.
+ * {@link JdbcPooledConnectionSource} only limits how many idle connections it keeps open and opens a new
+ * connection whenever none is free. Here every borrowed connection takes a permit; when all are taken,
+ * the caller waits until a connection is released, at most the given time.
+ * <p>
+ * The connection saved for a transaction is handed out again to the same thread without taking another permit,
+ * so DAO calls inside a transaction never wait for their own connection.
+ */
+class BoundedPooledConnectionSource extends JdbcPooledConnectionSource {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long maxWaitMillis;
+
+    /**
+     * @param maxConnections how many connections may be borrowed at the same time
+     * @param maxWaitMillis  how long to wait for a free connection before failing
+     */
+    BoundedPooledConnectionSource(int maxConnections, long maxWaitMillis) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("The pool needs at least one connection: " + maxConnections);
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Borrows a connection, waiting for one to be released if all are in use.
+     * @throws SQLException if no connection became free in time or the thread was interrupted
+     */
+    @Override
+    public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+        if (getSavedConnection() != null) {
+            // the connection of the running transaction, its permit was taken when it was borrowed
+            return super.getReadWriteConnection(tableName);
+        }
+        acquire();
+        try {
+            return super.getReadWriteConnection(tableName);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseConnection(DatabaseConnection connection) throws SQLException {
+        if (isSavedConnection(connection)) {
+            // still used by the transaction, released by it once it has finished
+            super.releaseConnection(connection);
+            return;
+        }
+        try {
+            super.releaseConnection(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("No database connection became free within " + maxWaitMillis
+                        + " ms, all " + maxConnections + " connections are in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * @return how many connections are borrowed right now
+     */
+    int getConnectionsInUse() {
+        return maxConnections - permits.availablePermits();
+    }
+}
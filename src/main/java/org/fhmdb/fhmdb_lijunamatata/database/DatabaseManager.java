@@ -2,24 +2,62 @@ package org.fhmdb.fhmdb_lijunamatata.database;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
-import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
 import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.h2.tools.Server;
 
 import java.sql.SQLException;
+import java.util.List;
 
 public class DatabaseManager {
     private static final String DB_URL ="jdbc:h2:file:./db/moviesdb"; //Path for embedded version of H2
     private static final String username = "user";
     private static final String password = "password";
-    private static ConnectionSource connectionSource;
-    Dao<MovieEntity, Long> movieDao; //DAO = Data Access Object
-    Dao<WatchlistMovieEntity, Long> watchlistDao;
+    // connection pool settings, can be overridden with -D system properties
+    static final String POOL_SIZE_PROPERTY = "fhmdb.db.pool.size";
+    static final String POOL_MAX_WAIT_PROPERTY = "fhmdb.db.pool.maxWaitMillis";
+    static final String POOL_MAX_AGE_PROPERTY = "fhmdb.db.pool.maxAgeMillis";
+    static final String POOL_CHECK_INTERVAL_PROPERTY = "fhmdb.db.pool.checkIntervalMillis";
+    static final String POOL_TEST_BEFORE_GET_PROPERTY = "fhmdb.db.pool.testBeforeGet";
+    private static final int DEFAULT_POOL_SIZE = 8; // connections open at the same time
+    private static final long DEFAULT_POOL_MAX_WAIT_MILLIS = 30 * 1000L;
+    private static final long DEFAULT_POOL_MAX_AGE_MILLIS = 30 * 60 * 1000L;
+    private static final long DEFAULT_POOL_CHECK_INTERVAL_MILLIS = 60 * 1000L;
+    private static volatile JdbcPooledConnectionSource connectionSource;
+    MovieDao movieDao; //DAO = Data Access Object
+    WatchlistDao watchlistDao;
+    PersonDao personDao;
+    Dao<PendingBackfillEntity, String> pendingBackfillDao;
     private static DatabaseManager instance; //Singleton Pattern: we only want a single instance of DatabaseManager
     private static boolean h2ConsoleStarted = false; // Track if H2 console is running
 
+    /**
+     * All schema changes in version order. Never edit an applied migration, add a new one instead.
+     */
+    static final List<SchemaMigration> MIGRATIONS = List.of(
+            new SchemaMigration(1, "Create movie and watchlist tables", source -> {
+                TableUtils.createTableIfNotExists(source, MovieEntity.class);
+                TableUtils.createTableIfNotExists(source, WatchlistMovieEntity.class);
+            }),
+            new SchemaMigration(2, "Unique index on apiId of movie and watchlist", source -> {
+                addUniqueApiIdIndex(source, "movie", "movie_apiId_idx");
+                addUniqueApiIdIndex(source, "watchlist", "watchlist_apiId_idx");
+            }),
+            new SchemaMigration(3, "Full-text index on title and description of movie",
+                    DatabaseManager::addMovieFullTextIndex),
+            new SchemaMigration(4, "Person and movie_person tables for directors, writers and main cast", source -> {
+                TableUtils.createTableIfNotExists(source, PersonEntity.class);
+                TableUtils.createTableIfNotExists(source, MoviePersonEntity.class);
+                addMoviePersonForeignKey(source);
+            }),
+            new SchemaMigration(5, "Pending backfill table, schedules the people of movies stored without them",
+                    DatabaseManager::schedulePeopleBackfill)
+    );
+
     /**
      * starts web-based H2 Console on specified port
      * @throws SQLException
@@ -84,6 +122,16 @@ public class DatabaseManager {
                 throw new DatabaseException("WatchlistDao is null after initialization");
             }
             
+            personDao = DaoManager.createDao(connectionSource, PersonEntity.class);
+            if (personDao == null) {
+                throw new DatabaseException("PersonDao is null after initialization");
+            }
+
+            pendingBackfillDao = DaoManager.createDao(connectionSource, PendingBackfillEntity.class);
+            if (pendingBackfillDao == null) {
+                throw new DatabaseException("PendingBackfillDao is null after initialization");
+            }
+
             // Create tables last
             createTables();
             
@@ -117,43 +165,201 @@ public class DatabaseManager {
     }
 
     /**
-     * creates the SQL tables for MovieEntity and WatchlistMovieEntity classes
-     * @throws SQLException
+     * brings the SQL tables up to date by applying the missing schema migrations.
+     * Existing tables and their data (e.g. the watchlist) are kept.
+     * @throws DatabaseException if a migration fails
      */
     protected static void createTables() throws SQLException, DatabaseException {
         try {
-            TableUtils.dropTable(connectionSource, MovieEntity.class, true);
-            TableUtils.dropTable(connectionSource, WatchlistMovieEntity.class, true);
-            TableUtils.createTableIfNotExists(connectionSource, MovieEntity.class);
-            TableUtils.createTableIfNotExists(connectionSource, WatchlistMovieEntity.class);
-        } catch (SQLException e) {
+            new SchemaMigrator(connectionSource, MIGRATIONS).migrate();
+        } catch (DatabaseException e) {
             // Ensure table creation failures are not silently ignored
             throw new DatabaseException("Failed to create tables", e);
         }
     }
 
     /**
-     * initializes the connection to the database
-     * @throws SQLException
+     * Removes duplicate API IDs (keeping the oldest row) and adds a unique index on the apiId column.
+     * @param source the database to migrate
+     * @param table table with an id and an apiId column
+     * @param indexName name of the index, equal to the uniqueIndexName of the entity
+     * @throws SQLException if a statement fails
+     */
+    private static void addUniqueApiIdIndex(ConnectionSource source, String table, String indexName) throws SQLException {
+        DatabaseType databaseType = source.getDatabaseType();
+        StringBuilder tableName = new StringBuilder();
+        databaseType.appendEscapedEntityName(tableName, table);
+        StringBuilder apiId = new StringBuilder();
+        databaseType.appendEscapedEntityName(apiId, "apiId");
+        StringBuilder id = new StringBuilder();
+        databaseType.appendEscapedEntityName(id, "id");
+        StringBuilder index = new StringBuilder();
+        databaseType.appendEscapedEntityName(index, indexName);
+
+        DatabaseConnection connection = source.getReadWriteConnection(table);
+        try {
+            connection.executeStatement("DELETE FROM " + tableName + " WHERE " + apiId + " IS NOT NULL AND " + id
+                    + " NOT IN (SELECT MIN(" + id + ") FROM " + tableName + " WHERE " + apiId + " IS NOT NULL GROUP BY "
+                    + apiId + ")", DatabaseConnection.DEFAULT_RESULT_FLAGS);
+            connection.executeStatement("CREATE UNIQUE INDEX IF NOT EXISTS " + index + " ON " + tableName
+                    + " (" + apiId + ")", DatabaseConnection.DEFAULT_RESULT_FLAGS);
+        } finally {
+            source.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Sets up H2's native full-text search and indexes the title and description of the movie table.
+     * The index is kept up to date by triggers, existing rows are indexed right away.
+     * H2 runs DDL outside of the transaction, so every step checks whether it already happened.
+     * @param source the database to migrate
+     * @throws SQLException if a statement fails
+     */
+    private static void addMovieFullTextIndex(ConnectionSource source) throws SQLException {
+        DatabaseConnection connection = source.getReadWriteConnection("movie");
+        try {
+            connection.executeStatement("CREATE ALIAS IF NOT EXISTS FT_INIT FOR \"org.h2.fulltext.FullText.init\"",
+                    DatabaseConnection.DEFAULT_RESULT_FLAGS);
+            connection.executeStatement("CALL FT_INIT()", DatabaseConnection.DEFAULT_RESULT_FLAGS);
+            // unquoted and escaped names are stored in upper case by H2
+            long indexes = connection.queryForLong(
+                    "SELECT COUNT(*) FROM FT.INDEXES WHERE SCHEMA = 'PUBLIC' AND \"TABLE\" = 'MOVIE'");
+            if (indexes == 0) {
+                connection.executeStatement("CALL FT_CREATE_INDEX('PUBLIC', 'MOVIE', 'TITLE,DESCRIPTION')",
+                        DatabaseConnection.DEFAULT_RESULT_FLAGS);
+            }
+        } finally {
+            source.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Links movie_person to movie, so the people of a movie are deleted together with the movie.
+     * @param source the database to migrate
+     * @throws SQLException if the statement fails
+     */
+    private static void addMoviePersonForeignKey(ConnectionSource source) throws SQLException {
+        DatabaseType databaseType = source.getDatabaseType();
+        StringBuilder sql = new StringBuilder("ALTER TABLE ");
+        databaseType.appendEscapedEntityName(sql, "movie_person");
+        sql.append(" ADD CONSTRAINT IF NOT EXISTS ");
+        databaseType.appendEscapedEntityName(sql, "movie_person_movie_fk");
+        sql.append(" FOREIGN KEY (");
+        databaseType.appendEscapedEntityName(sql, "movieId");
+        sql.append(") REFERENCES ");
+        databaseType.appendEscapedEntityName(sql, "movie");
+        sql.append(" (");
+        databaseType.appendEscapedEntityName(sql, "id");
+        sql.append(") ON DELETE CASCADE");
+
+        DatabaseConnection connection = source.getReadWriteConnection("movie_person");
+        try {
+            connection.executeStatement(sql.toString(), DatabaseConnection.DEFAULT_RESULT_FLAGS);
+        } finally {
+            source.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Creates the pending_backfill table and schedules the people backfill if the database already contains
+     * movies but no directors, writers or main cast, i.e. the movies were stored before the person tables existed.
+     * Decided once when the database is upgraded, a new database or one that already has people needs no backfill.
+     * @param source the database to migrate
+     * @throws SQLException if a statement fails
      */
-    protected static void createConnectionSource() throws SQLException, DatabaseException {
+    private static void schedulePeopleBackfill(ConnectionSource source) throws SQLException {
+        TableUtils.createTableIfNotExists(source, PendingBackfillEntity.class);
+        Dao<MovieEntity, ?> movies = DaoManager.createDao(source, MovieEntity.class);
+        Dao<MoviePersonEntity, ?> moviePeople = DaoManager.createDao(source, MoviePersonEntity.class);
+        boolean hasMovies = movies.queryBuilder().selectColumns("id").limit(1L).queryForFirst() != null;
+        boolean hasPeople = moviePeople.queryBuilder().selectColumns("id").limit(1L).queryForFirst() != null;
+        if (hasMovies && !hasPeople) {
+            Dao<PendingBackfillEntity, String> backfills = DaoManager.createDao(source, PendingBackfillEntity.class);
+            backfills.createIfNotExists(new PendingBackfillEntity(PendingBackfillEntity.MOVIE_PEOPLE,
+                    "Save the catalog again to store the people of the movies"));
+        }
+    }
+
+    /**
+     * initializes the pool of connections to the database, if not done yet.
+     * Every DAO call borrows its own connection from the pool, so the DAOs can be used from
+     * several threads at once (FX thread, scheduler, background loading).
+     * Pool size, connection max-age and health checks are configured with system properties,
+     * see {@link #createPooledConnectionSource(String)}.
+     * @throws DatabaseException if the pool cannot be created
+     */
+    protected static synchronized void createConnectionSource() throws SQLException, DatabaseException {
+        if (connectionSource != null) {
+            return; // the DAOs keep using the existing pool
+        }
         try {
-            connectionSource = new JdbcConnectionSource(DB_URL, username, password);
+            connectionSource = createPooledConnectionSource(DB_URL);
         } catch (SQLException e) {
             // Clearly signals that DB connection failed
             throw new DatabaseException("Error while creating connection source", e);
         }
+    }
+
+    /**
+     * creates a connection pool configured by the system properties
+     * {@value #POOL_SIZE_PROPERTY} (connections borrowed at the same time, also the idle connections kept open,
+     * default 8),
+     * {@value #POOL_MAX_WAIT_PROPERTY} (how long a caller waits for a free connection when all are in use,
+     * default 30 seconds),
+     * {@value #POOL_MAX_AGE_PROPERTY} (connections older than this are closed, default 30 minutes),
+     * {@value #POOL_CHECK_INTERVAL_PROPERTY} (interval of the background health check of idle connections,
+     * 0 disables it, default 1 minute) and
+     * {@value #POOL_TEST_BEFORE_GET_PROPERTY} (test every connection before handing it out, default false).
+     * @param url JDBC URL of the database
+     * @return the initialized pool
+     * @throws SQLException if the pool cannot be initialized
+     */
+    static JdbcPooledConnectionSource createPooledConnectionSource(String url) throws SQLException {
+        int poolSize = Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE);
+        JdbcPooledConnectionSource pool = new BoundedPooledConnectionSource(poolSize,
+                Long.getLong(POOL_MAX_WAIT_PROPERTY, DEFAULT_POOL_MAX_WAIT_MILLIS));
+        pool.setUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaxConnectionsFree(poolSize);
+        pool.setMaxConnectionAgeMillis(Long.getLong(POOL_MAX_AGE_PROPERTY, DEFAULT_POOL_MAX_AGE_MILLIS));
+        pool.setCheckConnectionsEveryMillis(Long.getLong(POOL_CHECK_INTERVAL_PROPERTY, DEFAULT_POOL_CHECK_INTERVAL_MILLIS));
+        pool.setTestBeforeGet(Boolean.getBoolean(POOL_TEST_BEFORE_GET_PROPERTY));
+        pool.initialize();
+        return pool;
+    }
 
+    /**
+     * closes all pooled connections, called when the application stops
+     */
+    public static synchronized void closeConnectionSource() {
+        if (connectionSource == null) {
+            return;
+        }
+        try {
+            connectionSource.close();
+        } catch (Exception e) {
+            System.err.println("Error closing connection source: " + e.getMessage());
+        }
+        connectionSource = null;
     }
 
-    public Dao<WatchlistMovieEntity, Long> getWatchlistDao() {
+    public WatchlistDao getWatchlistDao() {
         return watchlistDao;
     }
 
-    public Dao<MovieEntity, Long> getMovieDao() {
+    public MovieDao getMovieDao() {
         return movieDao;
     }
 
+    public PersonDao getPersonDao() {
+        return personDao;
+    }
+
+    public Dao<PendingBackfillEntity, String> getPendingBackfillDao() {
+        return pendingBackfillDao;
+    }
+
     public static ConnectionSource getConnectionSource() {
         return connectionSource;
     }
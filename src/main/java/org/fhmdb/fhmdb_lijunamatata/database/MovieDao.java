@@ -0,0 +1,134 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.support.ConnectionSource;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO for the movie table, created by ORMLite through {@code @DatabaseTable(daoClass = MovieDao.class)}.
+ */
+public class MovieDao extends ApiIdDao<MovieEntity> {
+
+    public MovieDao(ConnectionSource connectionSource) throws SQLException {
+        super(connectionSource, MovieEntity.class);
+    }
+
+    /**
+     * Searches the movies with all criteria evaluated by the database.
+     * The text is matched word by word against the full-text index on title and description
+     * (see migration 3 in {@link DatabaseManager}), every word has to occur in the movie.
+     *
+     * @param text        words to search for; null or blank matches every movie
+     * @param genre       genre the movie has to have; null matches every movie
+     * @param releaseYear release year the movie has to have; null matches every movie
+     * @param minRating   minimum rating of the movie; null matches every movie
+     * @param limit       maximum number of movies to return
+     * @return the matching movies ordered by id
+     * @throws SQLException if the query fails
+     */
+    public List<MovieEntity> search(String text, Genre genre, Integer releaseYear, Double minRating, int limit)
+            throws SQLException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        DatabaseType databaseType = connectionSource.getDatabaseType();
+        List<String> arguments = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT m.* FROM ");
+        databaseType.appendEscapedEntityName(sql, getTableInfo().getTableName());
+        sql.append(" m");
+
+        if (text != null && !text.isBlank()) {
+            // FT_SEARCH_DATA returns the primary key of every matching row
+            sql.append(" JOIN FT_SEARCH_DATA(?, 0, 0) ft ON ft.\"TABLE\" = 'MOVIE' AND ");
+            appendColumn(databaseType, sql, "id");
+            sql.append(" = CAST(ft.KEYS[1] AS BIGINT)");
+            arguments.add(text);
+        }
+        sql.append(" WHERE 1 = 1");
+        if (genre != null) {
+            // genres are stored as "ACTION, DRAMA", the separators make sure only whole names match
+            sql.append(" AND (', ' || ");
+            appendColumn(databaseType, sql, "genres");
+            sql.append(" || ',') LIKE ? ESCAPE '\\'");
+            arguments.add("%, " + escapeLike(genre.name()) + ",%");
+        }
+        if (releaseYear != null) {
+            sql.append(" AND ");
+            appendColumn(databaseType, sql, "releaseYear");
+            sql.append(" = ?");
+            arguments.add(releaseYear.toString());
+        }
+        if (minRating != null) {
+            sql.append(" AND ");
+            appendColumn(databaseType, sql, "rating");
+            sql.append(" >= ?");
+            arguments.add(minRating.toString());
+        }
+        sql.append(" ORDER BY ");
+        appendColumn(databaseType, sql, "id");
+        sql.append(" LIMIT ").append(limit);
+
+        // getResults() reads all rows and closes the results, a failing close is thrown as SQLException too
+        GenericRawResults<MovieEntity> results =
+                queryRaw(sql.toString(), getRawRowMapper(), arguments.toArray(new String[0]));
+        return results.getResults();
+    }
+
+    /**
+     * Loads the movies in which the person has the given role, e.g. all movies of a director.
+     * The movie ids are selected through the role index of movie_person.
+     *
+     * @param name name of the person
+     * @param role role of the person
+     * @return the movies ordered by id
+     * @throws SQLException if the query fails
+     */
+    public List<MovieEntity> queryForPerson(String name, PersonRole role) throws SQLException {
+        QueryBuilder<MovieEntity, Long> queryBuilder = queryBuilder().orderBy("id", true);
+        wherePerson(queryBuilder, name, role);
+        return queryBuilder.query();
+    }
+
+    /**
+     * Counts the movies in which the person has the given role without loading them.
+     *
+     * @param name name of the person
+     * @param role role of the person
+     * @return the number of movies
+     * @throws SQLException if the query fails
+     */
+    public long countOfPerson(String name, PersonRole role) throws SQLException {
+        QueryBuilder<MovieEntity, Long> queryBuilder = queryBuilder();
+        queryBuilder.setCountOf(true);
+        wherePerson(queryBuilder, name, role);
+        return countOf(queryBuilder.prepare());
+    }
+
+    private void wherePerson(QueryBuilder<MovieEntity, Long> queryBuilder, String name, PersonRole role)
+            throws SQLException {
+        DatabaseType databaseType = connectionSource.getDatabaseType();
+        queryBuilder.where().raw(PersonDao.escape(databaseType, "id") + " IN ("
+                + PersonDao.movieIdsOfPersonSql(databaseType, role) + ")", new SelectArg(SqlType.STRING, name));
+    }
+
+    /**
+     * Escapes the LIKE wildcards, e.g. the underscore in SCIENCE_FICTION, so the value only matches itself.
+     * To be used with {@code ESCAPE '\'}.
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void appendColumn(DatabaseType databaseType, StringBuilder sql, String column) {
+        sql.append("m.");
+        databaseType.appendEscapedEntityName(sql, column);
+    }
+}
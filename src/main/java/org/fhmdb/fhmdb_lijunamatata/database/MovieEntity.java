@@ -12,12 +12,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-@DatabaseTable(tableName = "movie")
+@DatabaseTable(tableName = "movie", daoClass = MovieDao.class)
 public class MovieEntity {
     @DatabaseField(generatedId = true) //ids will get generated by database
     private long id;
 
-    @DatabaseField() //if not specified field name will be variable name
+    @DatabaseField(uniqueIndexName = "movie_apiId_idx") //if not specified field name will be variable name
     private String apiId;
 
     @DatabaseField()
@@ -41,6 +41,11 @@ public class MovieEntity {
     @DatabaseField()
     private double rating;
 
+    // stored in the movie_person table by PersonDao, null if not loaded
+    private List<String> directors;
+    private List<String> writers;
+    private List<String> mainCast;
+
     public MovieEntity() {
         //No-argument constructor is needed by ORM (InvalidArgumentException otherwise)
     }
@@ -59,6 +64,9 @@ public class MovieEntity {
         this.imgUrl = movie.getImgUrl();
         this.lengthInMinutes = movie.getLengthInMinutes();
         this.rating = movie.getRating();
+        this.directors = copyNames(movie.getDirectors());
+        this.writers = copyNames(movie.getWriters());
+        this.mainCast = copyNames(movie.getMainCast());
     }
 
     /**
@@ -88,9 +96,9 @@ public class MovieEntity {
                     movieEntity.getDescription(),
                     movieEntity.getImgUrl(),
                     movieEntity.getLengthInMinutes(),
-                    Collections.emptyList(),
-                    Collections.emptyList(),
-                    Collections.emptyList(),
+                    movieEntity.getDirectors(),
+                    movieEntity.getWriters(),
+                    movieEntity.getMainCast(),
                     movieEntity.getRating());
         } catch (IllegalArgumentException e) {
             throw e;
@@ -231,4 +239,80 @@ public class MovieEntity {
     public void setRating(double rating) {
         this.rating = rating;
     }
+
+    /**
+     * @return the directors, or an empty list if they were not loaded
+     */
+    public List<String> getDirectors() {
+        return directors != null ? directors : Collections.emptyList();
+    }
+
+    public void setDirectors(List<String> directors) {
+        this.directors = copyNames(directors);
+    }
+
+    /**
+     * @return the writers, or an empty list if they were not loaded
+     */
+    public List<String> getWriters() {
+        return writers != null ? writers : Collections.emptyList();
+    }
+
+    public void setWriters(List<String> writers) {
+        this.writers = copyNames(writers);
+    }
+
+    /**
+     * @return the main cast, or an empty list if it was not loaded
+     */
+    public List<String> getMainCast() {
+        return mainCast != null ? mainCast : Collections.emptyList();
+    }
+
+    public void setMainCast(List<String> mainCast) {
+        this.mainCast = copyNames(mainCast);
+    }
+
+    /**
+     * @return true if the people of the movie are set, so saving the movie also replaces its stored people
+     */
+    boolean hasPeople() {
+        return directors != null || writers != null || mainCast != null;
+    }
+
+    /**
+     * @param role the role of the people
+     * @return the modifiable list of people in that role
+     */
+    List<String> getPeople(PersonRole role) {
+        return switch (role) {
+            case DIRECTOR -> directors != null ? directors : (directors = new ArrayList<>());
+            case WRITER -> writers != null ? writers : (writers = new ArrayList<>());
+            case ACTOR -> mainCast != null ? mainCast : (mainCast = new ArrayList<>());
+        };
+    }
+
+    /**
+     * Sets all people lists to new, empty lists, used before loading them from the database.
+     */
+    void clearPeople() {
+        directors = new ArrayList<>();
+        writers = new ArrayList<>();
+        mainCast = new ArrayList<>();
+    }
+
+    /**
+     * Copies the names without null entries.
+     */
+    private static List<String> copyNames(List<String> names) {
+        List<String> copy = new ArrayList<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null) {
+                    copy.add(name);
+                }
+            }
+        }
+        return copy;
+    }
 }
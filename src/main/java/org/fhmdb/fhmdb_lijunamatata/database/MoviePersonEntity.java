@@ -0,0 +1,46 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+/**
+ * Links a movie to a person in a role, e.g. an actor of the main cast.
+ * The position keeps the order of the names as they came from the API.
+ */
+@DatabaseTable(tableName = "movie_person")
+public class MoviePersonEntity {
+    @DatabaseField(generatedId = true)
+    private long id;
+
+    @DatabaseField(canBeNull = false, uniqueIndexName = "movie_person_movie_idx")
+    private long movieId;
+
+    @DatabaseField(canBeNull = false, uniqueIndexName = "movie_person_movie_idx", indexName = "movie_person_role_idx")
+    private PersonRole role;
+
+    @DatabaseField(canBeNull = false, uniqueIndexName = "movie_person_movie_idx")
+    private int position;
+
+    @DatabaseField(canBeNull = false, indexName = "movie_person_role_idx")
+    private long personId;
+
+    public MoviePersonEntity() {
+        //No-argument constructor is needed by ORM
+    }
+
+    public long getMovieId() {
+        return movieId;
+    }
+
+    public PersonRole getRole() {
+        return role;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public long getPersonId() {
+        return personId;
+    }
+}
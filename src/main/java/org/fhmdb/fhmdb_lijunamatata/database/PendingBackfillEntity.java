@@ -0,0 +1,52 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.Date;
+
+/**
+ * A one-time data backfill that still has to run, stored in the pending_backfill table.
+ * A schema migration cannot fetch data from the API, so it only schedules the backfill here;
+ * the code that has the data runs it and removes the entry, so it never runs twice.
+ */
+@DatabaseTable(tableName = "pending_backfill")
+public class PendingBackfillEntity {
+    /**
+     * Saving the catalog again to fill in the directors, writers and main cast of movies
+     * that were stored before the person tables existed.
+     */
+    public static final String MOVIE_PEOPLE = "movie_people";
+
+    @DatabaseField(id = true)
+    private String name;
+
+    @DatabaseField()
+    private String description;
+
+    @DatabaseField(dataType = DataType.DATE_LONG)
+    private Date scheduledOn;
+
+    public PendingBackfillEntity() {
+        //No-argument constructor is needed by ORM
+    }
+
+    public PendingBackfillEntity(String name, String description) {
+        this.name = name;
+        this.description = description;
+        this.scheduledOn = new Date();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Date getScheduledOn() {
+        return scheduledOn;
+    }
+}
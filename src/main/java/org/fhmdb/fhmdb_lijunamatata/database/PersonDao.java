@@ -0,0 +1,273 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * DAO for the person table and the movie_person table linking people to movies.
+ * Created by ORMLite through {@code @DatabaseTable(daoClass = PersonDao.class)}.
+ * <p>
+ * The directors, writers and main cast of a movie are stored as rows of movie_person with their role
+ * and position, so they survive a round trip through the database and can be aggregated in SQL.
+ */
+public class PersonDao extends BaseDaoImpl<PersonEntity, Long> {
+    private static final String MOVIE_PERSON_TABLE = "movie_person";
+
+    public PersonDao(ConnectionSource connectionSource) throws SQLException {
+        super(connectionSource, PersonEntity.class);
+    }
+
+    /**
+     * Replaces the directors, writers and main cast of the given movies.
+     * Movies without loaded people (null lists) are skipped. New names are added to the person table.
+     * All statements are batched and run on the connection of the current transaction if called inside one.
+     *
+     * @param movies    saved movies, their ids have to be set
+     * @param batchSize number of rows sent to the database per batch
+     * @throws SQLException if a statement fails
+     */
+    public void saveMoviePeople(List<MovieEntity> movies, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<MovieEntity> withPeople = new ArrayList<>();
+        Set<String> names = new LinkedHashSet<>();
+        for (MovieEntity movie : movies) {
+            if (movie.hasPeople()) {
+                withPeople.add(movie);
+                for (PersonRole role : PersonRole.values()) {
+                    names.addAll(movie.getPeople(role));
+                }
+            }
+        }
+        if (withPeople.isEmpty()) {
+            return;
+        }
+
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(MOVIE_PERSON_TABLE);
+        try {
+            Connection jdbc = connection.getUnderlyingConnection();
+            Map<String, Long> personIds = findOrCreatePeople(jdbc, names, batchSize);
+
+            try (PreparedStatement delete = jdbc.prepareStatement("DELETE FROM " + escape(MOVIE_PERSON_TABLE)
+                    + " WHERE " + escape("movieId") + " = ?")) {
+                int pending = 0;
+                for (MovieEntity movie : withPeople) {
+                    delete.setLong(1, movie.getId());
+                    delete.addBatch();
+                    if (++pending == batchSize) {
+                        delete.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    delete.executeBatch();
+                }
+            }
+
+            try (PreparedStatement insert = jdbc.prepareStatement("INSERT INTO " + escape(MOVIE_PERSON_TABLE)
+                    + " (" + escape("movieId") + ", " + escape("role") + ", " + escape("position") + ", "
+                    + escape("personId") + ") VALUES (?, ?, ?, ?)")) {
+                int pending = 0;
+                for (MovieEntity movie : withPeople) {
+                    for (PersonRole role : PersonRole.values()) {
+                        int position = 0;
+                        // a name listed twice in the same role is stored once
+                        for (String name : new LinkedHashSet<>(movie.getPeople(role))) {
+                            insert.setLong(1, movie.getId());
+                            insert.setString(2, role.name());
+                            insert.setInt(3, position++);
+                            insert.setLong(4, personIds.get(name));
+                            insert.addBatch();
+                            if (++pending == batchSize) {
+                                insert.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Looks up the ids of the given names and inserts the missing ones.
+     */
+    private Map<String, Long> findOrCreatePeople(Connection jdbc, Collection<String> names, int batchSize)
+            throws SQLException {
+        Map<String, Long> personIds = new HashMap<>();
+        List<String> allNames = new ArrayList<>(names);
+        for (int start = 0; start < allNames.size(); start += batchSize) {
+            List<String> chunk = allNames.subList(start, Math.min(start + batchSize, allNames.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement select = jdbc.prepareStatement("SELECT " + escape("id") + ", " + escape("name")
+                    + " FROM " + escape(getTableInfo().getTableName())
+                    + " WHERE " + escape("name") + " IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    select.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        personIds.put(resultSet.getString(2), resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String name : allNames) {
+            if (!personIds.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        try (PreparedStatement insert = jdbc.prepareStatement("INSERT INTO " + escape(getTableInfo().getTableName())
+                + " (" + escape("name") + ") VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < missing.size(); start += batchSize) {
+                List<String> batch = missing.subList(start, Math.min(start + batchSize, missing.size()));
+                for (String name : batch) {
+                    insert.setString(1, name);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (ResultSet generatedKeys = insert.getGeneratedKeys()) {
+                    for (String name : batch) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated id for person " + name);
+                        }
+                        personIds.put(name, generatedKeys.getLong(1));
+                    }
+                }
+            }
+        }
+        return personIds;
+    }
+
+    /**
+     * Sets the directors, writers and main cast of the given movies from the database, in their original order.
+     *
+     * @param movies saved movies, their ids have to be set
+     * @param batchSize number of movie ids per query
+     * @throws SQLException if a query fails
+     */
+    public void loadMoviePeople(List<MovieEntity> movies, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        Map<Long, MovieEntity> moviesById = new HashMap<>();
+        for (MovieEntity movie : movies) {
+            movie.clearPeople();
+            moviesById.put(movie.getId(), movie);
+        }
+        List<Long> ids = new ArrayList<>(moviesById.keySet());
+
+        DatabaseConnection connection = connectionSource.getReadOnlyConnection(MOVIE_PERSON_TABLE);
+        try {
+            for (int start = 0; start < ids.size(); start += batchSize) {
+                List<Long> chunk = ids.subList(start, Math.min(start + batchSize, ids.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement select = connection.getUnderlyingConnection().prepareStatement(
+                        "SELECT mp." + escape("movieId") + ", mp." + escape("role") + ", p." + escape("name")
+                                + " FROM " + escape(MOVIE_PERSON_TABLE) + " mp JOIN "
+                                + escape(getTableInfo().getTableName()) + " p ON p." + escape("id")
+                                + " = mp." + escape("personId")
+                                + " WHERE mp." + escape("movieId") + " IN (" + placeholders + ")"
+                                + " ORDER BY mp." + escape("movieId") + ", mp." + escape("role")
+                                + ", mp." + escape("position"))) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        select.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        while (resultSet.next()) {
+                            moviesById.get(resultSet.getLong(1))
+                                    .getPeople(PersonRole.valueOf(resultSet.getString(2)))
+                                    .add(resultSet.getString(3));
+                        }
+                    }
+                }
+            }
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Finds the person appearing in the most movies in the given role with a GROUP BY over the
+     * role index of movie_person. Ties are broken by name.
+     *
+     * @param role the role to count
+     * @return the name of the most frequent person, or null if nobody has that role
+     * @throws SQLException if the query fails
+     */
+    public String queryForMostFrequentPerson(PersonRole role) throws SQLException {
+        String sql = "SELECT p." + escape("name") + " FROM " + escape(MOVIE_PERSON_TABLE) + " mp JOIN "
+                + escape(getTableInfo().getTableName()) + " p ON p." + escape("id") + " = mp." + escape("personId")
+                + " WHERE mp." + escape("role") + " = ?"
+                + " GROUP BY p." + escape("id") + ", p." + escape("name")
+                + " ORDER BY COUNT(*) DESC, p." + escape("name") + " LIMIT 1";
+        DatabaseConnection connection = connectionSource.getReadOnlyConnection(MOVIE_PERSON_TABLE);
+        try (PreparedStatement select = connection.getUnderlyingConnection().prepareStatement(sql)) {
+            select.setString(1, role.name());
+            try (ResultSet resultSet = select.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Checks whether any person is linked to a movie, reading at most one row of movie_person.
+     *
+     * @return true if at least one director, writer or cast member is stored
+     * @throws SQLException if the query fails
+     */
+    public boolean hasMoviePeople() throws SQLException {
+        DatabaseConnection connection = connectionSource.getReadOnlyConnection(MOVIE_PERSON_TABLE);
+        try (PreparedStatement select = connection.getUnderlyingConnection().prepareStatement(
+                "SELECT 1 FROM " + escape(MOVIE_PERSON_TABLE) + " LIMIT 1");
+             ResultSet resultSet = select.executeQuery()) {
+            return resultSet.next();
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Builds a subquery selecting the ids of all movies in which a person has the given role,
+     * to be used as {@code WHERE id IN (...)} on the movie table.
+     *
+     * @param databaseType database type used to escape the names
+     * @param role         role of the person
+     * @return the SQL of the subquery, with the name of the person as its only parameter
+     */
+    static String movieIdsOfPersonSql(DatabaseType databaseType, PersonRole role) {
+        return "SELECT mp." + escape(databaseType, "movieId") + " FROM " + escape(databaseType, MOVIE_PERSON_TABLE)
+                + " mp JOIN " + escape(databaseType, "person") + " p ON p." + escape(databaseType, "id")
+                + " = mp." + escape(databaseType, "personId") + " WHERE p." + escape(databaseType, "name")
+                + " = ? AND mp." + escape(databaseType, "role") + " = '" + role.name() + "'";
+    }
+
+    private String escape(String name) {
+        return escape(connectionSource.getDatabaseType(), name);
+    }
+
+    static String escape(DatabaseType databaseType, String name) {
+        StringBuilder escaped = new StringBuilder();
+        databaseType.appendEscapedEntityName(escaped, name);
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+/**
+ * A director, writer or actor, stored once per name in the person table.
+ */
+@DatabaseTable(tableName = "person", daoClass = PersonDao.class)
+public class PersonEntity {
+    @DatabaseField(generatedId = true)
+    private long id;
+
+    @DatabaseField(canBeNull = false, uniqueIndexName = "person_name_idx")
+    private String name;
+
+    public PersonEntity() {
+        //No-argument constructor is needed by ORM
+    }
+
+    public PersonEntity(String name) {
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,10 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+/**
+ * Role of a person in a movie, stored in the role column of the movie_person table.
+ */
+public enum PersonRole {
+    DIRECTOR,
+    WRITER,
+    ACTOR
+}
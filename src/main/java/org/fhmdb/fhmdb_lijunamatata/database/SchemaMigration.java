@@ -0,0 +1,52 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.support.ConnectionSource;
+
+import java.sql.SQLException;
+
+/**
+ * A single, versioned change of the database schema.
+ * Migrations are applied once, in ascending version order, by the {@link SchemaMigrator}.
+ * H2 commits DDL statements immediately, so a step should be safe to run again after a failure
+ * (e.g. createTableIfNotExists, CREATE INDEX IF NOT EXISTS).
+ */
+public class SchemaMigration {
+
+    /**
+     * The schema change itself, executed inside the transaction of the migration.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(ConnectionSource connectionSource) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    /**
+     * @param version     unique, positive version; a migration is applied if the database is on a lower version
+     * @param description short description stored in the schema_version table
+     * @param step        the schema change
+     */
+    public SchemaMigration(int version, String description, Step step) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be positive: " + version);
+        }
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    void apply(ConnectionSource connectionSource) throws SQLException {
+        step.apply(connectionSource);
+    }
+}
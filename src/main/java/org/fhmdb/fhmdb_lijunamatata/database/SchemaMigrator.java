@@ -0,0 +1,100 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the database schema up to date by applying the missing migrations.
+ * The applied versions are recorded in the schema_version table, so existing data is kept
+ * and every migration runs exactly once per database.
+ */
+public class SchemaMigrator {
+    private final ConnectionSource connectionSource;
+    private final List<SchemaMigration> migrations;
+
+    /**
+     * @param connectionSource the database to migrate
+     * @param migrations       all known migrations, in any order; versions have to be unique
+     */
+    public SchemaMigrator(ConnectionSource connectionSource, List<SchemaMigration> migrations) {
+        this.connectionSource = connectionSource;
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort(Comparator.comparingInt(SchemaMigration::getVersion));
+
+        Set<Integer> versions = new HashSet<>();
+        for (SchemaMigration migration : this.migrations) {
+            if (!versions.add(migration.getVersion())) {
+                throw new IllegalArgumentException("Duplicate migration version: " + migration.getVersion());
+            }
+        }
+    }
+
+    /**
+     * Applies every migration with a version above the current schema version, in ascending order.
+     * Each migration runs in its own transaction together with its schema_version entry,
+     * a failing migration is not recorded and stops the run.
+     *
+     * @return the number of applied migrations
+     * @throws DatabaseException if reading the schema version or applying a migration fails
+     */
+    public int migrate() throws DatabaseException {
+        Dao<SchemaVersionEntity, Integer> versionDao;
+        int currentVersion;
+        try {
+            TableUtils.createTableIfNotExists(connectionSource, SchemaVersionEntity.class);
+            versionDao = DaoManager.createDao(connectionSource, SchemaVersionEntity.class);
+            currentVersion = getCurrentVersion(versionDao);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read the schema version", e);
+        }
+
+        int applied = 0;
+        for (SchemaMigration migration : migrations) {
+            if (migration.getVersion() <= currentVersion) {
+                continue;
+            }
+            try {
+                TransactionManager.callInTransaction(connectionSource, () -> {
+                    migration.apply(connectionSource);
+                    versionDao.create(new SchemaVersionEntity(migration.getVersion(), migration.getDescription()));
+                    return null;
+                });
+            } catch (SQLException e) {
+                throw new DatabaseException("Failed to apply migration " + migration.getVersion()
+                        + " (" + migration.getDescription() + ")", e);
+            }
+            System.out.println("Applied schema migration " + migration.getVersion() + ": " + migration.getDescription());
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * @return the highest applied migration version, 0 for a new database
+     * @throws DatabaseException if the schema_version table cannot be read
+     */
+    public int getCurrentVersion() throws DatabaseException {
+        try {
+            TableUtils.createTableIfNotExists(connectionSource, SchemaVersionEntity.class);
+            return getCurrentVersion(DaoManager.createDao(connectionSource, SchemaVersionEntity.class));
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read the schema version", e);
+        }
+    }
+
+    private static int getCurrentVersion(Dao<SchemaVersionEntity, Integer> versionDao) throws SQLException {
+        SchemaVersionEntity latest = versionDao.queryBuilder().orderBy("version", false).queryForFirst();
+        return latest == null ? 0 : latest.getVersion();
+    }
+}
@@ -0,0 +1,44 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.Date;
+
+/**
+ * One applied schema migration, stored in the schema_version table.
+ */
+@DatabaseTable(tableName = "schema_version")
+public class SchemaVersionEntity {
+    @DatabaseField(id = true)
+    private int version;
+
+    @DatabaseField()
+    private String description;
+
+    @DatabaseField(dataType = DataType.DATE_LONG)
+    private Date appliedOn;
+
+    public SchemaVersionEntity() {
+        //No-argument constructor is needed by ORM
+    }
+
+    public SchemaVersionEntity(int version, String description) {
+        this.version = version;
+        this.description = description;
+        this.appliedOn = new Date();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Date getAppliedOn() {
+        return appliedOn;
+    }
+}
@@ -0,0 +1,15 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.support.ConnectionSource;
+
+import java.sql.SQLException;
+
+/**
+ * DAO for the watchlist table, created by ORMLite through {@code @DatabaseTable(daoClass = WatchlistDao.class)}.
+ */
+public class WatchlistDao extends ApiIdDao<WatchlistMovieEntity> {
+
+    public WatchlistDao(ConnectionSource connectionSource) throws SQLException {
+        super(connectionSource, WatchlistMovieEntity.class);
+    }
+}
@@ -3,12 +3,12 @@ package org.fhmdb.fhmdb_lijunamatata.database;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 
-@DatabaseTable(tableName = "watchlist")
+@DatabaseTable(tableName = "watchlist", daoClass = WatchlistDao.class)
 public class WatchlistMovieEntity {
     @DatabaseField(generatedId = true)
     private long id;
 
-    @DatabaseField()
+    @DatabaseField(uniqueIndexName = "watchlist_apiId_idx")
     private String apiId;
 
     public WatchlistMovieEntity() {}
@@ -22,6 +22,10 @@ public class Movie {
     private List<String> mainCast;
     private double rating;
 
+    //display text of the genres, built on first use for the list cells (not serialized)
+    private transient String genresText;
+    private transient List<Genre> genresTextSource;
+
     public Movie() {
         //no parameter constructor for testing
     }
@@ -54,6 +58,33 @@ public class Movie {
         return genres;
     }
 
+    /**
+     * Returns the genres joined with ", ", e.g. "DRAMA, ROMANCE".
+     * The text is built once and cached until the genres are replaced, so scrolling through
+     * the list does not create a new string for every cell update.
+     *
+     * @return the genres as display text, empty if the movie has no genres
+     */
+    public String getGenresText() {
+        List<Genre> currentGenres = genres;
+        String text = genresText;
+        if (text == null || genresTextSource != currentGenres) {
+            StringBuilder builder = new StringBuilder();
+            if (currentGenres != null) {
+                for (Genre genre : currentGenres) {
+                    if (builder.length() > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(genre.name());
+                }
+            }
+            text = builder.toString();
+            genresText = text;
+            genresTextSource = currentGenres;
+        }
+        return text;
+    }
+
     public int getReleaseYear() {
         return releaseYear;
     }
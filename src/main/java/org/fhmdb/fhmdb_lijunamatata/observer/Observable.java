@@ -28,7 +28,7 @@ public interface Observable {
     void removeObserver(WatchlistObserver observer);
 
     /**
-     * Notifies all registered observers of a change.
+     * Notifies all registered observers that the whole state may have changed.
      *
      * @throws DatabaseException If an error occurs while retrieving the updated data.
      */
@@ -0,0 +1,104 @@
+package org.fhmdb.fhmdb_lijunamatata.observer;
+
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a change of the watchlist as a delta: the movies that were added and removed, keyed by API ID.
+ * Observers can patch their views with it instead of reloading the whole watchlist.
+ * The full watchlist is only loaded if an observer asks for it with {@link #getSnapshot()}.
+ */
+public class WatchlistChange {
+
+    /**
+     * Loads the full watchlist on request.
+     */
+    @FunctionalInterface
+    public interface SnapshotLoader {
+        List<Movie> load() throws DatabaseException;
+    }
+
+    private final Map<String, Movie> added;
+    private final Map<String, Movie> removed;
+    private final int size;
+    private final boolean fullRefresh;
+    private final SnapshotLoader snapshotLoader;
+    private List<Movie> snapshot;
+
+    /**
+     * @param added          added movies by API ID; the movie may be null if it is not in the movie table
+     * @param removed        removed movies by API ID; the movie may be null if it is not in the movie table
+     * @param size           number of movies in the watchlist after the change
+     * @param fullRefresh    true if the change is not described by the delta and observers should reload
+     * @param snapshotLoader loads the full watchlist when {@link #getSnapshot()} is called
+     */
+    public WatchlistChange(Map<String, Movie> added, Map<String, Movie> removed, int size, boolean fullRefresh,
+                           SnapshotLoader snapshotLoader) {
+        this.added = Collections.unmodifiableMap(new LinkedHashMap<>(added));
+        this.removed = Collections.unmodifiableMap(new LinkedHashMap<>(removed));
+        this.size = size;
+        this.fullRefresh = fullRefresh;
+        this.snapshotLoader = snapshotLoader;
+    }
+
+    /**
+     * Creates a change without delta, telling observers to reload the whole watchlist.
+     */
+    public static WatchlistChange fullRefresh(int size, SnapshotLoader snapshotLoader) {
+        return new WatchlistChange(Map.of(), Map.of(), size, true, snapshotLoader);
+    }
+
+    /**
+     * @return the added movies by API ID, in the order they were added
+     */
+    public Map<String, Movie> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return the removed movies by API ID, in the order they were removed
+     */
+    public Map<String, Movie> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return the number of movies in the watchlist after the change
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if observers should reload the whole watchlist instead of applying the delta
+     */
+    public boolean isFullRefresh() {
+        return fullRefresh;
+    }
+
+    /**
+     * @return the loader of the full watchlist, used to merge changes into one
+     */
+    SnapshotLoader getSnapshotLoader() {
+        return snapshotLoader;
+    }
+
+    /**
+     * Loads the full watchlist after the change. The result is cached, so observers sharing
+     * this change only load it once.
+     *
+     * @return all movies in the watchlist
+     * @throws DatabaseException if loading the watchlist fails
+     */
+    public synchronized List<Movie> getSnapshot() throws DatabaseException {
+        if (snapshot == null) {
+            snapshot = snapshotLoader.load();
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,205 @@
+package org.fhmdb.fhmdb_lijunamatata.observer;
+
+import javafx.application.Platform;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Delivers watchlist changes to the registered observers off the thread that made the change.
+ * <p>
+ * Changes published within a short window are merged into one {@link WatchlistChange}, so a bulk import
+ * of hundreds of movies results in a single notification. A movie that is added and removed again
+ * within the same window cancels out. Observers are called on the dispatcher thread, or on the
+ * JavaFX application thread if they return true from {@link WatchlistObserver#requiresFxThread()}.
+ * <p>
+ * The observer registry is copy-on-write, so observers can be added or removed while a change is dispatched.
+ */
+public class WatchlistDispatcher {
+    private static final Logger logger = Logger.getLogger(WatchlistDispatcher.class.getName());
+
+    public static final long DEFAULT_WINDOW_MILLIS = 50;
+
+    private final List<WatchlistObserver> observers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+    private final long windowMillis;
+
+    // pending change, guarded by this
+    private final Map<String, Movie> pendingAdded = new LinkedHashMap<>();
+    private final Map<String, Movie> pendingRemoved = new LinkedHashMap<>();
+    private boolean pendingFullRefresh;
+    private int pendingSize;
+    private WatchlistChange.SnapshotLoader pendingLoader;
+    private ScheduledFuture<?> scheduledDispatch;
+
+    /**
+     * Creates a dispatcher with the default window of {@value #DEFAULT_WINDOW_MILLIS} ms.
+     */
+    public WatchlistDispatcher() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * @param windowMillis how long changes are collected before they are delivered, 0 to deliver as soon as possible
+     */
+    public WatchlistDispatcher(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Window must not be negative: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "watchlist-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param observer the observer to notify about future changes
+     */
+    public void addObserver(WatchlistObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * @param observer the observer to stop notifying; safe to call during a dispatch
+     */
+    public void removeObserver(WatchlistObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Queues a change and schedules its delivery at the end of the current window.
+     *
+     * @param change the change to merge into the pending one
+     */
+    public synchronized void publish(WatchlistChange change) {
+        if (change.isFullRefresh()) {
+            pendingFullRefresh = true;
+            pendingAdded.clear();
+            pendingRemoved.clear();
+        } else if (!pendingFullRefresh) {
+            change.getRemoved().forEach((apiId, movie) -> {
+                // added and removed in the same window: nothing happened for the observers
+                if (pendingAdded.containsKey(apiId)) {
+                    pendingAdded.remove(apiId);
+                } else {
+                    pendingRemoved.put(apiId, movie);
+                }
+            });
+            change.getAdded().forEach((apiId, movie) -> {
+                if (pendingRemoved.containsKey(apiId)) {
+                    pendingRemoved.remove(apiId);
+                } else {
+                    pendingAdded.put(apiId, movie);
+                }
+            });
+        }
+        pendingSize = change.getSize();
+        pendingLoader = change.getSnapshotLoader();
+
+        if (scheduledDispatch == null && !executor.isShutdown()) {
+            scheduledDispatch = executor.schedule(this::dispatchPending, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Delivers the pending change right away and waits until the observers not bound to the
+     * JavaFX thread have received it.
+     */
+    public void flush() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            executor.submit(this::dispatchPending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warning("Error dispatching watchlist change: " + e.getCause());
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread. Pending changes are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Takes the pending change and delivers it to every observer. Runs on the dispatcher thread.
+     */
+    private void dispatchPending() {
+        WatchlistChange change;
+        synchronized (this) {
+            scheduledDispatch = null;
+            if (pendingLoader == null) {
+                return; // nothing pending
+            }
+            change = pendingFullRefresh
+                    ? WatchlistChange.fullRefresh(pendingSize, pendingLoader)
+                    : new WatchlistChange(pendingAdded, pendingRemoved, pendingSize, false, pendingLoader);
+            pendingAdded.clear();
+            pendingRemoved.clear();
+            pendingFullRefresh = false;
+            pendingLoader = null;
+        }
+        if (!change.isFullRefresh() && change.getAdded().isEmpty() && change.getRemoved().isEmpty()) {
+            return; // the changes of this window cancelled out
+        }
+
+        boolean snapshotLoaded = false;
+        for (WatchlistObserver observer : observers) {
+            if (observer.requiresFxThread()) {
+                if (change.isFullRefresh() && !snapshotLoaded) {
+                    // load the watchlist here instead of blocking the FX thread with the query
+                    snapshotLoaded = preloadSnapshot(change);
+                }
+                runOnFxThread(() -> deliver(observer, change));
+            } else {
+                deliver(observer, change);
+            }
+        }
+    }
+
+    private boolean preloadSnapshot(WatchlistChange change) {
+        try {
+            change.getSnapshot();
+            return true;
+        } catch (DatabaseException e) {
+            logger.warning("Error loading watchlist: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void deliver(WatchlistObserver observer, WatchlistChange change) {
+        try {
+            observer.onWatchlistChanged(change);
+        } catch (DatabaseException | RuntimeException e) {
+            logger.warning("Error notifying watchlist observer: " + e.getMessage());
+        }
+    }
+
+    private void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+            return;
+        }
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            logger.warning("JavaFX toolkit not running, watchlist change dropped: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.fhmdb.fhmdb_lijunamatata.observer;
 
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 import java.util.List;
 
@@ -17,4 +18,26 @@ public interface WatchlistObserver {
      * @param updatedWatchlist the current state of the watchlist
      */
     void onWatchlistChanged(List<Movie> updatedWatchlist);
+
+    /**
+     * Called with the delta of every watchlist change.
+     * Observers that can patch their view override this method, the default loads the full
+     * watchlist and passes it to {@link #onWatchlistChanged(List)}.
+     *
+     * @param change the added and removed movies
+     * @throws DatabaseException if the full watchlist has to be loaded and that fails
+     */
+    default void onWatchlistChanged(WatchlistChange change) throws DatabaseException {
+        onWatchlistChanged(change.getSnapshot());
+    }
+
+    /**
+     * Tells the dispatcher whether this observer touches the UI and has to be called on the
+     * JavaFX application thread. Other observers are called on the dispatcher thread.
+     *
+     * @return true to be called on the JavaFX application thread
+     */
+    default boolean requiresFxThread() {
+        return false;
+    }
 }
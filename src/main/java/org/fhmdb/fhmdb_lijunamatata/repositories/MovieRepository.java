@@ -1,20 +1,38 @@
 package org.fhmdb.fhmdb_lijunamatata.repositories;
 
+import com.j256.ormlite.dao.CloseableIterator;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.misc.TransactionManager;
 import org.fhmdb.fhmdb_lijunamatata.database.DatabaseManager;
+import org.fhmdb.fhmdb_lijunamatata.database.MovieDao;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
+import org.fhmdb.fhmdb_lijunamatata.database.PendingBackfillEntity;
+import org.fhmdb.fhmdb_lijunamatata.database.PersonDao;
+import org.fhmdb.fhmdb_lijunamatata.database.PersonRole;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
     /**
      * Repository class for accessing MovieEntity data in the database.
      * Implemented as a Singleton.
      */
     public class MovieRepository {
+    public static final int DEFAULT_BATCH_SIZE = 500; // rows per JDBC batch in addAllMovies
     private static MovieRepository instance; // Singleton instance
-    private final Dao<MovieEntity, Long> movieDao; // DAO object for accessing MovieEntity table
+    private final MovieDao movieDao; // DAO object for accessing MovieEntity table
+    private final PersonDao personDao; // DAO object for the directors, writers and main cast of the movies
+    private final Dao<PendingBackfillEntity, String> pendingBackfillDao; // one-time backfills scheduled by migrations
 
     /**
      * Private constructor to enforce Singleton pattern.
@@ -28,6 +46,14 @@ import java.util.List;
         if (this.movieDao == null) {
             throw new DatabaseException("MovieDao is null after initialization");
         }
+        this.personDao = dbManager.getPersonDao();
+        if (this.personDao == null) {
+            throw new DatabaseException("PersonDao is null after initialization");
+        }
+        this.pendingBackfillDao = dbManager.getPendingBackfillDao();
+        if (this.pendingBackfillDao == null) {
+            throw new DatabaseException("PendingBackfillDao is null after initialization");
+        }
     }
 
     /**
@@ -44,18 +70,163 @@ import java.util.List;
 
         /**
      * Retrieves all movies from the database.
+     * Loads the whole catalog into memory, prefer {@link #streamAllMovies()} or {@link #getMoviesAfter(long, int)}
+     * for large catalogs.
      *
      * @return List of MovieEntity objects representing all movies in the database
      * @throws DatabaseException if an SQL exception occurs during query
      */
     public List<MovieEntity> getAllMovies() throws DatabaseException {
         try {
-            return movieDao.queryForAll();
+            return withPeople(movieDao.queryForAll());
         } catch (SQLException e) {
             throw new DatabaseException("Failed to fetch movies from the database", e);
         }
     }
 
+    /**
+     * Counts the movies in the database without loading them.
+     *
+     * @return the number of stored movies
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public long count() throws DatabaseException {
+        try {
+            return movieDao.countOf();
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count movies in the database", e);
+        }
+    }
+
+    /**
+     * Checks whether any movie is stored, reading at most one id.
+     *
+     * @return true if the database contains at least one movie
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public boolean exists() throws DatabaseException {
+        try {
+            return movieDao.queryBuilder().selectColumns("id").limit(1L).queryForFirst() != null;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to check for movies in the database", e);
+        }
+    }
+
+    /**
+     * Checks whether the directors, writers or main cast of any movie are stored, reading at most one row.
+     *
+     * @return true if at least one person is linked to a movie
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public boolean hasPeople() throws DatabaseException {
+        try {
+            return personDao.hasMoviePeople();
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to check for people in the database", e);
+        }
+    }
+
+    /**
+     * Checks whether the people of the stored movies still have to be filled in, see
+     * {@link PendingBackfillEntity#MOVIE_PEOPLE}. Scheduled once by the schema migration that upgrades
+     * a database with movies but without people.
+     *
+     * @return true if the catalog has to be saved again to store its directors, writers and main cast
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public boolean isPeopleBackfillPending() throws DatabaseException {
+        try {
+            return pendingBackfillDao.idExists(PendingBackfillEntity.MOVIE_PEOPLE);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to check for the pending people backfill", e);
+        }
+    }
+
+    /**
+     * Records that the people of the stored movies have been filled in, so the backfill never runs again.
+     *
+     * @throws DatabaseException if an SQL exception occurs during the delete
+     */
+    public void completePeopleBackfill() throws DatabaseException {
+        try {
+            pendingBackfillDao.deleteById(PendingBackfillEntity.MOVIE_PEOPLE);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to record the people backfill", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of movies ordered by id, using keyset pagination: the page starts after the
+     * last id of the previous page, so every page is an index range scan, no matter how deep it is.
+     * Pass 0 for the first page and the id of the last movie of a page for the next one.
+     *
+     * @param afterId  id of the last movie of the previous page, 0 for the first page
+     * @param pageSize maximum number of movies on the page, must be positive
+     * @return the movies of the page, an empty list after the last page
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public List<MovieEntity> getMoviesAfter(long afterId, int pageSize) throws DatabaseException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        try {
+            return withPeople(movieDao.queryBuilder()
+                    .orderBy("id", true)
+                    .limit((long) pageSize)
+                    .where().gt("id", afterId)
+                    .query());
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to fetch movies after ID: " + afterId, e);
+        }
+    }
+
+    /**
+     * Streams all movies ordered by id over a database cursor, so the catalog is processed in constant memory.
+     * The people of the movies are loaded for {@value #DEFAULT_BATCH_SIZE} movies at a time.
+     * The stream holds a database connection and has to be closed, e.g. with try-with-resources.
+     *
+     * @return a sequential stream of all movies
+     * @throws DatabaseException if the query cannot be started
+     */
+    public Stream<MovieEntity> streamAllMovies() throws DatabaseException {
+        CloseableIterator<MovieEntity> iterator;
+        try {
+            iterator = movieDao.queryBuilder().orderBy("id", true).iterator();
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to stream movies from the database", e);
+        }
+        Spliterator<MovieEntity> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<MovieEntity> buffer = new ArrayDeque<>();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super MovieEntity> action) {
+                if (buffer.isEmpty()) {
+                    fillBuffer();
+                }
+                MovieEntity movie = buffer.poll();
+                if (movie == null) {
+                    return false;
+                }
+                action.accept(movie);
+                return true;
+            }
+
+            private void fillBuffer() {
+                List<MovieEntity> batch = new ArrayList<>(DEFAULT_BATCH_SIZE);
+                while (batch.size() < DEFAULT_BATCH_SIZE && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                try {
+                    buffer.addAll(withPeople(batch));
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Failed to load the people of the streamed movies", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(iterator::closeQuietly);
+    }
+
     /**
      * Deletes all movies from the database.
      *
@@ -78,27 +249,137 @@ import java.util.List;
      */
     public MovieEntity getMovie(long id) throws DatabaseException {
         try {
-            return movieDao.queryForId(id);
+            MovieEntity movie = movieDao.queryForId(id);
+            return movie != null ? withPeople(List.of(movie)).get(0) : null;
         } catch (SQLException e) {
             throw new DatabaseException("Failed to fetch movie with ID: " + id, e);
         }
     }
 
     /**
-     * Adds or updates a list of movies in the database.
-     * Each movie is either created or updated based on whether it already exists.
+     * Adds or updates a list of movies in the database, see {@link #addAllMovies(List, int)}.
      *
      * @param movies List of MovieEntity objects to be added or updated
      * @throws DatabaseException if an SQL exception occurs during create or update operations
      */
     public void addAllMovies(List<MovieEntity> movies) throws DatabaseException {
+        addAllMovies(movies, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Retrieves a movie by its API ID, using the unique index on apiId.
+     *
+     * @param apiId The API ID of the movie
+     * @return The MovieEntity object if found, or null if no movie matches the API ID
+     * @throws DatabaseException if an SQL exception occurs during query
+     */
+    public MovieEntity getMovieByApiId(String apiId) throws DatabaseException {
         try {
-            for (MovieEntity movie : movies) {
-                movieDao.createOrUpdate(movie);
-            }
+            MovieEntity movie = movieDao.queryForApiId(apiId);
+            return movie != null ? withPeople(List.of(movie)).get(0) : null;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to fetch movie with API ID: " + apiId, e);
+        }
+    }
+
+    /**
+     * Adds or updates a list of movies in the database within a single transaction.
+     * The movies are merged by API ID with batched prepared statements: a movie whose API ID is already stored
+     * updates that row, any other movie is inserted. The ids of the saved rows are set on the entities.
+     * The directors, writers and main cast of the movies are stored in the person tables in the same transaction.
+     * If any movie fails, none of them is saved.
+     *
+     * @param movies    List of MovieEntity objects to be added or updated
+     * @param batchSize Number of rows sent to the database per batch
+     * @throws DatabaseException if an SQL exception occurs during create or update operations
+     */
+    public void addAllMovies(List<MovieEntity> movies, int batchSize) throws DatabaseException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        try {
+            TransactionManager.callInTransaction(movieDao.getConnectionSource(), () -> {
+                movieDao.upsertAllByApiId(movies, batchSize);
+                personDao.saveMoviePeople(movies, batchSize);
+                return null;
+            });
         } catch (SQLException e) {
             throw new DatabaseException("Failed to save movies to the database", e);
         }
     }
-}
 
+    /**
+     * Searches the stored movies with all criteria evaluated by the database, so only the matching
+     * movies are loaded instead of the whole catalog.
+     * The text is matched by words against the full-text index on title and description.
+     *
+     * @param text        words the title or description has to contain; null or blank matches every movie
+     * @param genre       genre the movie has to have; null matches every movie
+     * @param releaseYear release year the movie has to have; null matches every movie
+     * @param minRating   minimum rating of the movie; null matches every movie
+     * @param limit       maximum number of movies to return, must be positive
+     * @return the matching movies ordered by id
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public List<MovieEntity> search(String text, Genre genre, Integer releaseYear, Double minRating, int limit)
+            throws DatabaseException {
+        try {
+            return withPeople(movieDao.search(text, genre, releaseYear, minRating, limit));
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to search movies in the database", e);
+        }
+    }
+
+    /**
+     * Finds the actor with the most movies in the database with a GROUP BY on the person tables,
+     * without loading any movie.
+     *
+     * @return the name of the most frequent actor, or null if no actors are stored
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public String getMostPopularActor() throws DatabaseException {
+        try {
+            return personDao.queryForMostFrequentPerson(PersonRole.ACTOR);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to find the most popular actor", e);
+        }
+    }
+
+    /**
+     * Counts the movies of a director in the database without loading them.
+     *
+     * @param director name of the director
+     * @return the number of movies the director directed
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public long countMoviesFromDirector(String director) throws DatabaseException {
+        try {
+            return movieDao.countOfPerson(director, PersonRole.DIRECTOR);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count movies of director: " + director, e);
+        }
+    }
+
+    /**
+     * Retrieves the movies of a director.
+     *
+     * @param director name of the director
+     * @return the movies the director directed, ordered by id
+     * @throws DatabaseException if an SQL exception occurs during the query
+     */
+    public List<MovieEntity> getMoviesFromDirector(String director) throws DatabaseException {
+        try {
+            return withPeople(movieDao.queryForPerson(director, PersonRole.DIRECTOR));
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to fetch movies of director: " + director, e);
+        }
+    }
+
+    /**
+     * Loads the directors, writers and main cast of the given movies.
+     */
+    private List<MovieEntity> withPeople(List<MovieEntity> movies) throws SQLException {
+        personDao.loadMoviePeople(movies, DEFAULT_BATCH_SIZE);
+        return movies;
+    }
+}
@@ -1,18 +1,29 @@
 package org.fhmdb.fhmdb_lijunamatata.repositories;
 
-import com.j256.ormlite.dao.Dao;
-import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.misc.TransactionManager;
 import org.fhmdb.fhmdb_lijunamatata.database.DatabaseManager;
+import org.fhmdb.fhmdb_lijunamatata.database.MovieDao;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
+import org.fhmdb.fhmdb_lijunamatata.database.PersonDao;
+import org.fhmdb.fhmdb_lijunamatata.database.WatchlistDao;
 import org.fhmdb.fhmdb_lijunamatata.database.WatchlistMovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.observer.Observable;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistChange;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistDispatcher;
 import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistObserver;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
     /**
     * Repository class for accessing WatchlistMovieEntity data in the database.
@@ -20,9 +31,15 @@ import java.util.List;
     */
     public class WatchlistRepository implements Observable {
 
+    public static final int DEFAULT_BATCH_SIZE = 500; // rows per JDBC batch in the bulk operations
     private static WatchlistRepository instance;
-    private final Dao<WatchlistMovieEntity, Long> watchlistDao;
-    private final List<WatchlistObserver> observers = new ArrayList<>();
+    private final WatchlistDao watchlistDao;
+    private final MovieDao movieDao;
+    private final PersonDao personDao;
+    // delivers changes batched and off the caller's thread
+    private final WatchlistDispatcher dispatcher = new WatchlistDispatcher();
+    // API IDs of all watchlisted movies, loaded once and kept in sync by add and remove
+    private final Set<String> watchlistedApiIds = ConcurrentHashMap.newKeySet();
 
     /**
      * Returns the singleton instance of WatchlistRepository.
@@ -44,7 +61,7 @@ import java.util.List;
      */
     @Override
     public void addObserver(WatchlistObserver observer) {
-        observers.add(observer);
+        dispatcher.addObserver(observer);
     }
 
     /**
@@ -53,19 +70,47 @@ import java.util.List;
      */
     @Override
     public void removeObserver(WatchlistObserver observer) {
-        observers.remove(observer);
+        dispatcher.removeObserver(observer);
     }
 
     /**
-     * Notifies all registered observers with the current watchlist movies.
-     * @throws DatabaseException if fetching watchlist movies fails
+     * Notifies all registered observers to reload the whole watchlist.
+     * The watchlist is loaded at most once, and only if an observer asks for it.
+     * The notification is delivered asynchronously, see {@link WatchlistDispatcher}.
      */
     @Override
-    public void notifyObservers() throws DatabaseException {
-        List<Movie> updatedWatchlist = MovieEntity.toMovies(getWatchlistMovies());
-        for (WatchlistObserver observer : observers) {
-            observer.onWatchlistChanged(updatedWatchlist);
-        }
+    public void notifyObservers() {
+        notifyObservers(WatchlistChange.fullRefresh(watchlistedApiIds.size(), this::loadSnapshot));
+    }
+
+    /**
+     * Notifies all registered observers about a single added or removed movie.
+     * Changes made within a short window reach the observers as one change.
+     * @param added the added movie by API ID, or an empty map
+     * @param removed the removed movie by API ID, or an empty map
+     */
+    private void notifyObservers(Map<String, Movie> added, Map<String, Movie> removed) {
+        notifyObservers(new WatchlistChange(added, removed, watchlistedApiIds.size(), false, this::loadSnapshot));
+    }
+
+    private void notifyObservers(WatchlistChange change) {
+        dispatcher.publish(change);
+    }
+
+    /**
+     * Delivers pending changes right away instead of at the end of the batching window
+     * and waits until the observers not bound to the JavaFX thread have received them.
+     */
+    public void flushObservers() {
+        dispatcher.flush();
+    }
+
+    /**
+     * @return all movies in the watchlist, converted for the observers
+     * @throws DatabaseException if the query fails
+     */
+    private List<Movie> loadSnapshot() throws DatabaseException {
+        return MovieEntity.toMovies(getWatchlistMovies());
     }
 
     /**
@@ -81,6 +126,29 @@ import java.util.List;
         if (this.watchlistDao == null) {
             throw new DatabaseException("WatchlistDao is null after initialization");
         }
+        this.movieDao = dbManager.getMovieDao();
+        if (this.movieDao == null) {
+            throw new DatabaseException("MovieDao is null after initialization");
+        }
+        this.personDao = dbManager.getPersonDao();
+        if (this.personDao == null) {
+            throw new DatabaseException("PersonDao is null after initialization");
+        }
+        loadWatchlistedApiIds();
+    }
+
+    /**
+     * Loads the API IDs of the watchlist into memory.
+     * @throws DatabaseException if the query fails
+     */
+    private void loadWatchlistedApiIds() throws DatabaseException {
+        try {
+            for (WatchlistMovieEntity entry : watchlistDao.queryBuilder().selectColumns("apiId").query()) {
+                watchlistedApiIds.add(entry.getApiId());
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to load watchlist", e);
+        }
     }
 
     /**
@@ -98,15 +166,16 @@ import java.util.List;
 
     /**
      * Adds a movie to the watchlist if not already present.
-     * Notifies observers upon success.
+     * Notifies observers upon success with the added movie.
      * @param movieEntity movie to add
-     * @throws DatabaseException if DB error occurs during add or notify
+     * @throws DatabaseException if DB error occurs during add
      */
-    public void addToWatchlist(MovieEntity movieEntity) throws DatabaseException {
+    public synchronized void addToWatchlist(MovieEntity movieEntity) throws DatabaseException {
         try {
-            if (!existsInWatchlist(movieEntity.getApiId())) {
+            if (!contains(movieEntity.getApiId())) {
                 watchlistDao.create(new WatchlistMovieEntity(movieEntity.getApiId()));
-                notifyObservers();
+                watchlistedApiIds.add(movieEntity.getApiId());
+                notifyObservers(Map.of(movieEntity.getApiId(), MovieEntity.toMovie(movieEntity)), Map.of());
             }
         } catch (SQLException e) {
             throw new DatabaseException("Failed to add movie to watchlist", e);
@@ -115,38 +184,185 @@ import java.util.List;
 
     /**
      * Removes a movie from watchlist by API ID.
-     * Notifies observers upon success.
+     * Notifies observers with the removed movie if there was an entry to remove.
      * @param apiId API ID of movie to remove
-     * @throws DatabaseException if DB error occurs during removal or notify
+     * @throws DatabaseException if DB error occurs during removal
      */
-    public void removeFromWatchlist(String apiId) throws DatabaseException {
+    public synchronized void removeFromWatchlist(String apiId) throws DatabaseException {
         try {
-            QueryBuilder<WatchlistMovieEntity, Long> queryBuilder = watchlistDao.queryBuilder();
-            queryBuilder.where().eq("apiId", apiId);
-            List<WatchlistMovieEntity> entries = watchlistDao.query(queryBuilder.prepare());
+            if (watchlistDao.deleteByApiId(apiId) == 0) {
+                return; // nothing removed, nothing to notify
+            }
+            watchlistedApiIds.remove(apiId);
+            MovieEntity removedMovie = movieDao.queryForApiId(apiId);
+            if (removedMovie != null) {
+                personDao.loadMoviePeople(List.of(removedMovie), DEFAULT_BATCH_SIZE);
+            }
+            Map<String, Movie> removed = new HashMap<>();
+            removed.put(apiId, removedMovie != null ? MovieEntity.toMovie(removedMovie) : null);
+            notifyObservers(Map.of(), removed);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to remove movie from watchlist", e);
+        }
+    }
 
-            for (WatchlistMovieEntity entry : entries) {
-                watchlistDao.delete(entry);
+    /**
+     * Adds all given movies to the watchlist in one transaction with batched statements.
+     * API IDs that are already in the watchlist, null or repeated are skipped.
+     * Observers receive a single change with all added movies.
+     * @param apiIds API IDs of the movies to add
+     * @return the number of added movies
+     * @throws DatabaseException if the transaction fails, nothing is added in that case
+     */
+    public synchronized int addAllToWatchlist(Collection<String> apiIds) throws DatabaseException {
+        Set<String> newApiIds = new LinkedHashSet<>();
+        for (String apiId : apiIds) {
+            if (apiId != null && !contains(apiId)) {
+                newApiIds.add(apiId);
+            }
+        }
+        if (newApiIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<WatchlistMovieEntity> entries = new ArrayList<>(newApiIds.size());
+            for (String apiId : newApiIds) {
+                entries.add(new WatchlistMovieEntity(apiId));
             }
+            // MERGE on the unique apiId index, an entry added concurrently by another process is not duplicated
+            TransactionManager.callInTransaction(watchlistDao.getConnectionSource(), () -> {
+                watchlistDao.upsertAllByApiId(entries, DEFAULT_BATCH_SIZE);
+                return null;
+            });
+            watchlistedApiIds.addAll(newApiIds);
+            notifyObservers(loadMovies(newApiIds), Map.of());
+            return newApiIds.size();
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to add movies to watchlist", e);
+        }
+    }
 
-            notifyObservers();
+    /**
+     * Removes all given movies from the watchlist in one transaction with a batched delete.
+     * Observers receive a single change with all removed movies.
+     * @param apiIds API IDs of the movies to remove
+     * @return the number of removed movies
+     * @throws DatabaseException if the transaction fails, nothing is removed in that case
+     */
+    public synchronized int removeAllFromWatchlist(Collection<String> apiIds) throws DatabaseException {
+        Set<String> removedApiIds = new LinkedHashSet<>();
+        for (String apiId : apiIds) {
+            if (contains(apiId)) {
+                removedApiIds.add(apiId);
+            }
+        }
+        if (removedApiIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            int removed = TransactionManager.callInTransaction(watchlistDao.getConnectionSource(),
+                    () -> watchlistDao.deleteAllByApiId(removedApiIds, DEFAULT_BATCH_SIZE));
+            watchlistedApiIds.removeAll(removedApiIds);
+            notifyObservers(Map.of(), loadMovies(removedApiIds));
+            return removed;
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to remove movie from watchlist", e);
+            throw new DatabaseException("Failed to remove movies from watchlist", e);
+        }
+    }
+
+    /**
+     * Replaces the watchlist with the given movies, e.g. when syncing from another system.
+     * Movies missing in the import are removed, new ones are added, both in one transaction.
+     * Observers receive a single change with the difference.
+     * @param apiIds API IDs of the imported watchlist
+     * @throws DatabaseException if the transaction fails, the watchlist is unchanged in that case
+     */
+    public synchronized void importWatchlist(Collection<String> apiIds) throws DatabaseException {
+        Set<String> imported = new LinkedHashSet<>();
+        for (String apiId : apiIds) {
+            if (apiId != null) {
+                imported.add(apiId);
+            }
+        }
+        Set<String> toRemove = new LinkedHashSet<>(watchlistedApiIds);
+        toRemove.removeAll(imported);
+        Set<String> toAdd = new LinkedHashSet<>(imported);
+        toAdd.removeAll(watchlistedApiIds);
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        try {
+            List<WatchlistMovieEntity> entries = new ArrayList<>(toAdd.size());
+            for (String apiId : toAdd) {
+                entries.add(new WatchlistMovieEntity(apiId));
+            }
+            TransactionManager.callInTransaction(watchlistDao.getConnectionSource(), () -> {
+                watchlistDao.deleteAllByApiId(toRemove, DEFAULT_BATCH_SIZE);
+                watchlistDao.upsertAllByApiId(entries, DEFAULT_BATCH_SIZE);
+                return null;
+            });
+            watchlistedApiIds.removeAll(toRemove);
+            watchlistedApiIds.addAll(toAdd);
+            notifyObservers(loadMovies(toAdd), loadMovies(toRemove));
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to import watchlist", e);
+        }
+    }
+
+    /**
+     * Exports the API IDs of the watchlist in the order they were added.
+     * @return the API IDs of all watchlisted movies
+     * @throws DatabaseException if the query fails
+     */
+    public List<String> exportWatchlist() throws DatabaseException {
+        try {
+            List<String> apiIds = new ArrayList<>();
+            for (WatchlistMovieEntity entry : watchlistDao.queryBuilder()
+                    .selectColumns("apiId").orderBy("id", true).query()) {
+                apiIds.add(entry.getApiId());
+            }
+            return apiIds;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to export watchlist", e);
+        }
+    }
+
+    /**
+     * Loads the movies of the given API IDs for a change notification.
+     * API IDs without a movie are mapped to null, like in removeFromWatchlist.
+     */
+    private Map<String, Movie> loadMovies(Collection<String> apiIds) throws SQLException {
+        Map<String, Movie> movies = new LinkedHashMap<>();
+        for (String apiId : apiIds) {
+            movies.put(apiId, null);
+        }
+        List<MovieEntity> movieEntities = movieDao.queryForApiIds(apiIds, DEFAULT_BATCH_SIZE);
+        personDao.loadMoviePeople(movieEntities, DEFAULT_BATCH_SIZE);
+        for (MovieEntity movieEntity : movieEntities) {
+            movies.put(movieEntity.getApiId(), MovieEntity.toMovie(movieEntity));
         }
+        return movies;
+    }
+
+    /**
+     * Checks whether a movie is in the watchlist without touching the database.
+     * Safe to call from any thread, e.g. for every cell update on the FX thread.
+     * @param apiId API ID to check
+     * @return true if the movie is in the watchlist, false otherwise
+     */
+    public boolean contains(String apiId) {
+        return apiId != null && watchlistedApiIds.contains(apiId);
     }
 
     /**
-     * Checks whether a movie is already in the watchlist by API ID.
+     * Checks whether a movie is already in the watchlist by API ID, using the unique index on apiId.
      * @param apiId API ID to check
      * @return true if movie exists, false otherwise
      * @throws DatabaseException if DB query fails
      */
     public boolean existsInWatchlist(String apiId) throws DatabaseException {
         try {
-            QueryBuilder<WatchlistMovieEntity, Long> queryBuilder = watchlistDao.queryBuilder();
-            queryBuilder.setCountOf(true);
-            queryBuilder.where().eq("apiId", apiId);
-            return watchlistDao.countOf(queryBuilder.prepare()) > 0;
+            return watchlistDao.existsByApiId(apiId);
         } catch (SQLException e) {
             throw new DatabaseException("Failed to check if movie exists in watchlist", e);
         }
@@ -154,22 +370,20 @@ import java.util.List;
 
     /**
      * Retrieves list of MovieEntity objects corresponding to the movies in the watchlist.
+     * Runs a single query with a subquery on the watchlist, both sides use the apiId indexes,
+     * so only the watchlisted movies are loaded. Their people are loaded with one more query.
      * @return list of MovieEntity
      * @throws DatabaseException if DB errors occur during retrieval
      */
     public List<MovieEntity> getWatchlistMovies() throws DatabaseException {
-        List<WatchlistMovieEntity> watchlist = getWatchlist();
         try {
-            MovieRepository movieRepository = MovieRepository.getInstance();
-            List<MovieEntity> allMovies = movieRepository.getAllMovies();
-
-            return allMovies.stream()
-                    .filter(movieEntity -> watchlist.stream()
-                            .anyMatch(watchlistMovieEntity ->
-                                    watchlistMovieEntity.getApiId().equals(movieEntity.getApiId())))
-                    .toList();
-
-        } catch (DatabaseException e) {
+            List<MovieEntity> movies = movieDao.queryBuilder()
+                    .orderBy("id", true)
+                    .where().in("apiId", watchlistDao.queryBuilder().selectColumns("apiId"))
+                    .query();
+            personDao.loadMoviePeople(movies, DEFAULT_BATCH_SIZE);
+            return movies;
+        } catch (SQLException e) {
             throw new DatabaseException("Failed to get movies from watchlist", e);
         }
     }
@@ -0,0 +1,380 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+
+import java.util.*;
+
+/**
+ * In-memory index over a list of movies used by the local filtering in {@link MovieService}.
+ * Every movie is addressed by its ordinal, which is its position in the indexed list.
+ * <p>
+ * Text search uses an inverted index from the lowercase title and description tokens to the ordinals
+ * containing them. To also find tokens by prefix or infix (e.g. "ncep" in "inception"), every token is
+ * registered under its trigrams. A query only verifies the candidates of its rarest trigram instead of
+ * lowercasing every title and description again.
+ * <p>
+ * The other filters are secondary indexes over the same ordinals: a bitmap per genre, a bitmap per
+ * release year and an array of ordinals sorted by rating. A combined filter is a couple of bitmap
+ * intersections plus one binary search, the text check only runs on what is left afterwards.
+ * <p>
+ * The index is updated incrementally: only positions whose movie changed are re-tokenized.
+ */
+public class MovieIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final List<Movie> movies = new ArrayList<>();
+    private final List<String> lowerTitles = new ArrayList<>();
+    private final List<String> lowerDescriptions = new ArrayList<>();
+    private final List<Set<String>> tokensByOrdinal = new ArrayList<>();
+
+    private final Map<String, BitSet> postings = new HashMap<>(); //token -> ordinals of movies containing it
+    private final Map<String, Set<String>> tokensByGram = new HashMap<>(); //trigram -> tokens containing it
+
+    private final Map<Genre, BitSet> genreIndex = new EnumMap<>(Genre.class); //genre -> ordinals
+    private final Map<Integer, BitSet> yearIndex = new HashMap<>(); //release year -> ordinals
+    private int[] ordinalsByRating = new int[0]; //ordinals sorted by ascending rating, rebuilt lazily
+    private double[] sortedRatings = new double[0];
+    private boolean ratingsOutdated;
+
+    /**
+     * Brings the index in line with the given list.
+     * Positions that still hold the same movie are kept, only changed positions are re-indexed.
+     * Every position is compared, so changes made to the same list in place (set, sort) are picked up as well;
+     * for an unchanged list this is one reference comparison per movie. A new instance of the same movie
+     * (same id and equal content, e.g. after loading the catalog again) only replaces the stored reference.
+     *
+     * @param newMovies the list of movies to index
+     */
+    public synchronized void update(List<Movie> newMovies) {
+        int newSize = newMovies.size();
+        for (int ordinal = 0; ordinal < newSize; ordinal++) {
+            Movie movie = newMovies.get(ordinal);
+            if (ordinal < movies.size()) {
+                Movie indexed = movies.get(ordinal);
+                if (indexed == movie) {
+                    continue;
+                }
+                if (isSameMovie(indexed, movie)) {
+                    movies.set(ordinal, movie);
+                } else {
+                    removeOrdinal(ordinal);
+                    indexOrdinal(ordinal, movie);
+                }
+            } else {
+                movies.add(null);
+                lowerTitles.add(null);
+                lowerDescriptions.add(null);
+                tokensByOrdinal.add(null);
+                indexOrdinal(ordinal, movie);
+            }
+        }
+
+        // Drop positions beyond the end of the new list
+        for (int ordinal = movies.size() - 1; ordinal >= newSize; ordinal--) {
+            removeOrdinal(ordinal);
+            movies.remove(ordinal);
+            lowerTitles.remove(ordinal);
+            lowerDescriptions.remove(ordinal);
+            tokensByOrdinal.remove(ordinal);
+        }
+    }
+
+    /**
+     * @return true if both are the same movie with the same content, so the indexed data of one fits the other
+     */
+    private static boolean isSameMovie(Movie indexed, Movie movie) {
+        // equals() of Movie ignores the id
+        return Objects.equals(indexed.getId(), movie.getId()) && indexed.equals(movie);
+    }
+
+    /**
+     * Returns the ordinals of all movies whose title or description contains the search text, ignoring case.
+     *
+     * @param searchText the text to search for; null or empty matches every movie
+     * @return a new BitSet with the matching ordinals
+     */
+    public synchronized BitSet search(String searchText) {
+        return filter(searchText, null, null, null);
+    }
+
+    /**
+     * Returns the ordinals of all movies matching every given criterion.
+     * The genre, year and rating bitmaps are intersected first, so the text check only runs on movies
+     * that already passed the other filters.
+     *
+     * @param searchText  text the title or description has to contain, ignoring case; null or empty matches every movie
+     * @param genre       genre the movie has to have; null matches every movie
+     * @param releaseYear release year the movie has to have; null matches every movie
+     * @param rating      minimum rating of the movie; null matches every movie
+     * @return a new BitSet with the matching ordinals
+     */
+    public synchronized BitSet filter(String searchText, Genre genre, Integer releaseYear, Double rating) {
+        BitSet matches = new BitSet(movies.size());
+        matches.set(0, movies.size());
+
+        if (genre != null) {
+            matches.and(genreIndex.getOrDefault(genre, new BitSet()));
+        }
+        if (releaseYear != null) {
+            matches.and(yearIndex.getOrDefault(releaseYear, new BitSet()));
+        }
+        if (rating != null) {
+            matches.and(withRatingAtLeast(rating));
+        }
+        if (searchText == null || searchText.isEmpty() || matches.isEmpty()) {
+            return matches;
+        }
+
+        String query = searchText.toLowerCase();
+        BitSet candidates = findCandidates(query);
+        if (candidates != null) {
+            matches.and(candidates);
+        }
+
+        // Verify the remaining movies against the exact substring semantics
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            if (!lowerTitles.get(ordinal).contains(query) && !lowerDescriptions.get(ordinal).contains(query)) {
+                matches.clear(ordinal);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Collects the ordinals of all movies with a rating equal to or higher than the given one.
+     * Uses a binary search on the ordinals sorted by rating.
+     *
+     * @param rating the minimum rating
+     * @return the matching ordinals
+     */
+    private BitSet withRatingAtLeast(double rating) {
+        if (ratingsOutdated) {
+            sortByRating();
+        }
+
+        // find the first position whose rating is not lower than the minimum rating
+        int low = 0;
+        int high = sortedRatings.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(sortedRatings[middle], rating) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        BitSet ordinals = new BitSet(movies.size());
+        for (int i = low; i < ordinalsByRating.length; i++) {
+            ordinals.set(ordinalsByRating[i]);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Rebuilds the ordinals sorted by rating after the indexed list has changed.
+     * Only primitive arrays are sorted: the ratings themselves, and then every ordinal packed into a long
+     * behind the rank of its rating, so sorting the longs orders the ordinals by rating.
+     */
+    private void sortByRating() {
+        int size = movies.size();
+        double[] ratings = new double[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            ratings[ordinal] = movies.get(ordinal).getRating();
+        }
+        double[] sorted = ratings.clone();
+        Arrays.sort(sorted);
+
+        long[] packed = new long[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            // equal ratings always find the same position, so they share a rank
+            long rank = Arrays.binarySearch(sorted, ratings[ordinal]);
+            packed[ordinal] = rank << 32 | ordinal;
+        }
+        Arrays.sort(packed);
+
+        ordinalsByRating = new int[size];
+        for (int i = 0; i < size; i++) {
+            ordinalsByRating[i] = (int) packed[i];
+        }
+        sortedRatings = sorted;
+        ratingsOutdated = false;
+    }
+
+    /**
+     * @param ordinal position in the indexed list
+     * @return the movie at the given ordinal
+     */
+    public synchronized Movie getMovie(int ordinal) {
+        return movies.get(ordinal);
+    }
+
+    /**
+     * @return the number of indexed movies
+     */
+    public synchronized int size() {
+        return movies.size();
+    }
+
+    /**
+     * Collects the ordinals that can possibly contain the query.
+     * Every token of the query has to be part of a token of the movie, so the candidate sets of the
+     * query tokens are intersected.
+     *
+     * @param query lowercase search text
+     * @return the candidate ordinals, or null if the query cannot be narrowed down by the index
+     */
+    private BitSet findCandidates(String query) {
+        BitSet candidates = null;
+        for (String queryToken : tokenize(query)) {
+            if (queryToken.length() < GRAM_LENGTH) {
+                continue;
+            }
+            BitSet tokenCandidates = findTokenCandidates(queryToken);
+            if (candidates == null) {
+                candidates = tokenCandidates;
+            } else {
+                candidates.and(tokenCandidates);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Collects the ordinals of all movies having a token that contains the query token.
+     * Only the tokens registered under the rarest trigram of the query token are checked.
+     *
+     * @param queryToken lowercase token with at least three characters
+     * @return the candidate ordinals
+     */
+    private BitSet findTokenCandidates(String queryToken) {
+        Set<String> rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= queryToken.length(); i++) {
+            Set<String> tokens = tokensByGram.get(queryToken.substring(i, i + GRAM_LENGTH));
+            if (tokens == null) {
+                return new BitSet();
+            }
+            if (rarest == null || tokens.size() < rarest.size()) {
+                rarest = tokens;
+            }
+        }
+
+        BitSet candidates = new BitSet();
+        for (String token : rarest) {
+            if (token.contains(queryToken)) {
+                candidates.or(postings.get(token));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Tokenizes and registers a movie at the given ordinal.
+     */
+    private void indexOrdinal(int ordinal, Movie movie) {
+        String lowerTitle = movie.getTitle() != null ? movie.getTitle().toLowerCase() : "";
+        String lowerDescription = movie.getDescription() != null ? movie.getDescription().toLowerCase() : "";
+
+        Set<String> tokens = new HashSet<>(tokenize(lowerTitle));
+        tokens.addAll(tokenize(lowerDescription));
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, newToken -> {
+                registerGrams(newToken);
+                return new BitSet();
+            }).set(ordinal);
+        }
+
+        if (movie.getGenres() != null) {
+            for (Genre genre : movie.getGenres()) {
+                genreIndex.computeIfAbsent(genre, newGenre -> new BitSet()).set(ordinal);
+            }
+        }
+        yearIndex.computeIfAbsent(movie.getReleaseYear(), newYear -> new BitSet()).set(ordinal);
+        ratingsOutdated = true;
+
+        movies.set(ordinal, movie);
+        lowerTitles.set(ordinal, lowerTitle);
+        lowerDescriptions.set(ordinal, lowerDescription);
+        tokensByOrdinal.set(ordinal, tokens);
+    }
+
+    /**
+     * Removes the movie at the given ordinal from the posting lists.
+     */
+    private void removeOrdinal(int ordinal) {
+        Set<String> tokens = tokensByOrdinal.get(ordinal);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            BitSet ordinals = postings.get(token);
+            ordinals.clear(ordinal);
+            if (ordinals.isEmpty()) {
+                postings.remove(token);
+                unregisterGrams(token);
+            }
+        }
+        tokensByOrdinal.set(ordinal, null);
+
+        Movie movie = movies.get(ordinal);
+        if (movie.getGenres() != null) {
+            for (Genre genre : movie.getGenres()) {
+                genreIndex.get(genre).clear(ordinal);
+            }
+        }
+        BitSet sameYear = yearIndex.get(movie.getReleaseYear());
+        sameYear.clear(ordinal);
+        if (sameYear.isEmpty()) {
+            yearIndex.remove(movie.getReleaseYear());
+        }
+        ratingsOutdated = true;
+    }
+
+    private void registerGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            tokensByGram.computeIfAbsent(token.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>()).add(token);
+        }
+    }
+
+    private void unregisterGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            String gram = token.substring(i, i + GRAM_LENGTH);
+            Set<String> tokens = tokensByGram.get(gram);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    tokensByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits lowercase text into tokens made of letters and digits.
+     *
+     * @param text lowercase text
+     * @return the tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start));
+        }
+        return tokens;
+    }
+}
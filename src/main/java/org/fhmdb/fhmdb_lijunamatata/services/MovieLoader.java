@@ -0,0 +1,91 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
+import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.repositories.MovieRepository;
+import org.fhmdb.fhmdb_lijunamatata.utils.StatusUpdatable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Loads the movie catalog at startup: fetches and parses all movies from the API and stores them in the
+ * database if it is still empty or the people of its movies still have to be filled in.
+ * <p>
+ * The loader blocks, it is meant to run on a background thread (see {@code FHMDbController}).
+ * Progress is reported through a {@link StatusUpdatable} and the loader stops as soon as the given
+ * cancellation check returns true, before the next movie is parsed or before anything is written.
+ */
+public class MovieLoader {
+    // how many parsed movies between two progress messages
+    static final int PROGRESS_INTERVAL = 500;
+
+    private final MovieAPI movieAPI;
+    private final MovieRepository movieRepository;
+
+    /**
+     * @param movieAPI        the API to fetch the movies from
+     * @param movieRepository the repository to store the movies in
+     */
+    public MovieLoader(MovieAPI movieAPI, MovieRepository movieRepository) {
+        this.movieAPI = movieAPI;
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Fetches all movies and persists them if the database does not contain any movies yet, or if the
+     * one-time backfill of the directors, writers and main cast is pending because the movies were stored
+     * before the person tables existed. The backfill is recorded as done afterwards, so it never runs again,
+     * even if the API returns no people.
+     *
+     * @param status    receives the progress messages
+     * @param cancelled returns true once loading should stop
+     * @return all movies of the API, in the order of the response
+     * @throws MovieApiException     if the movies cannot be fetched or parsed
+     * @throws DatabaseException     if the movies cannot be stored
+     * @throws CancellationException if loading was cancelled
+     */
+    public List<Movie> load(StatusUpdatable status, BooleanSupplier cancelled)
+            throws MovieApiException, DatabaseException {
+        status.updateStatus("Loading movies...", false);
+        List<Movie> movies = new ArrayList<>();
+        try {
+            // the movies are decoded while the response is read, so cancelling stops in the middle of the download
+            movieAPI.streamMovies(null, null, null, null, movie -> {
+                throwIfCancelled(cancelled);
+                movies.add(movie);
+                if (movies.size() % PROGRESS_INTERVAL == 0) {
+                    status.updateStatus("Loading movies... " + movies.size() + " loaded", false);
+                }
+            });
+        } catch (MovieApiException e) {
+            // the cancellation surfaces as a failed request
+            throwIfCancelled(cancelled);
+            throw e;
+        }
+        throwIfCancelled(cancelled);
+
+        status.updateStatus("Saving " + movies.size() + " movies...", false);
+        // addAllMovies merges by API ID, so saving again fills in the people of movies that are already stored
+        boolean backfillPending = movieRepository.isPeopleBackfillPending();
+        if (backfillPending || !movieRepository.exists()) {
+            movieRepository.addAllMovies(MovieEntity.fromMovies(movies));
+        }
+        if (backfillPending) {
+            movieRepository.completePeopleBackfill();
+        }
+        status.updateStatus("Loaded " + movies.size() + " movies", false);
+        return movies;
+    }
+
+    private static void throwIfCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Loading movies was cancelled");
+        }
+    }
+}
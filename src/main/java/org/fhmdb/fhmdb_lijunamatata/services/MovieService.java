@@ -6,6 +6,7 @@ import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -17,6 +18,8 @@ import java.util.stream.Collectors;
  */
 public class MovieService {
     MovieAPI movieAPI;
+    //index over the last list passed to filterMovies, updated incrementally when the list changes
+    private final MovieIndex movieIndex = new MovieIndex();
 
     public MovieService() {
         this.movieAPI = new MovieAPI();
@@ -65,77 +68,50 @@ public class MovieService {
         }
     }
 
+    /**
+     * Fetches a list of movies based on the provided filters without blocking the calling thread.
+     * A newer call with other filters cancels the previous one, its future then completes with a CancellationException.
+     * Identical concurrent calls share one request.
+     *
+     * @param searchText  The text to search for in movie titles. If {@code null}, empty query string filtering is applied.
+     * @param genre       The genre to filter movies by. If {@code null}, no genre filtering is applied.
+     * @param releaseYear The release to filter movies by. If {@code null}, no releaseYear filtering is applied.
+     * @param rating      The rating to filter movies by. If {@code null}, no rating filtering is applied.
+     * @return A future completed with the movies that match all criteria.
+     */
+    public CompletableFuture<List<Movie>> fetchFilteredMoviesAsync(String searchText, Genre genre, Integer releaseYear,
+                                                                   Double rating) {
+        return this.movieAPI.fetchMoviesAsync(searchText, genre, releaseYear, rating);
+    }
+
     /**
      * Filters a list of movies based on the provided search text and selected genre.
-     * The method checks if the movie's title contains the search text (ignoring case)
+     * The method checks if the movie's title or description contains the search text (ignoring case)
      * and if the movie's genre matches the selected genre.
+     * All criteria are looked up in the {@link MovieIndex}: genre and release year are bitmap intersections,
+     * the minimum rating is a binary search, and only the remaining movies are checked for the search text.
      *
-     * @param movies     The list of movies to be filtered.
-     * @param searchText The text to search for in movie titles.
-     * @param genre      The genre to filter movies by. If {@code null}, no genre filtering is applied.
-     * @return A list of movies that match both the search text and selected genre.
+     * @param movies      The list of movies to be filtered.
+     * @param searchText  The text to search for in movie titles.
+     * @param genre       The genre to filter movies by. If {@code null}, no genre filtering is applied.
+     * @param releaseYear The release year to filter movies by. If {@code null}, no releaseYear filtering is applied.
+     * @param rating      The minimum rating to filter movies by. If {@code null}, no rating filtering is applied.
+     * @return A list of movies that match all criteria.
      */
     public List<Movie> filterMovies(List<Movie> movies, String searchText, Genre genre, Integer releaseYear,
                                     Double rating) {
-        List<Movie> filteredMovies = new ArrayList<>();
-        for (Movie movie : movies) {
-            boolean matchesSearchText = isMatchesSearchText(searchText, movie);
-            boolean matchesGenre = isMatchesGenre(genre, movie);
-            boolean matchesReleaseYear = isMatchesReleaseYear(releaseYear, movie);
-            boolean matchesRating = isMatchesRating(rating, movie);
-            if (matchesSearchText && matchesGenre && matchesReleaseYear && matchesRating) {
-                filteredMovies.add(movie);
-            }
+        BitSet matches;
+        synchronized (movieIndex) {
+            movieIndex.update(movies);
+            matches = movieIndex.filter(searchText, genre, releaseYear, rating);
+        }
+        List<Movie> filteredMovies = new ArrayList<>(matches.cardinality());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            filteredMovies.add(movies.get(ordinal));
         }
         return filteredMovies;
     }
 
-    /**
-     * Checks if the movie's release year equals the selected release year
-     *
-     * @param releaseYear to compare with
-     * @param movie      The movie whose release year is to be checked.
-     * @return {@code true} if the movie's release year equal the selected rating; {@code false} otherwise.
-     */
-    private static boolean isMatchesReleaseYear(Integer releaseYear, Movie movie) {
-        return (releaseYear == null || releaseYear.equals(movie.getReleaseYear()));
-    }
-
-    /**
-     * Checks if the movie's rating is equal or higher than selected rating
-     *
-     * @param rating The minimum rating
-     * @param movie      The movie whose rating is to be checked.
-     * @return {@code true} if the movie's rating is equal or higher than selected rating; {@code false} otherwise.
-     */
-    private static boolean isMatchesRating(Double rating, Movie movie) {
-        return (rating == null || rating.compareTo(movie.getRating()) <= 0);
-    }
-
-    /**
-     * Checks if the movie's genres contain the selected genre.
-     * Returns {@code true} if the movie matches the selected genre or if no genre is selected.
-     *
-     * @param genre The genre to check against.
-     * @param movie The movie to check.
-     * @return {@code true} if the movie matches the selected genre or if no genre is selected; {@code false} otherwise.
-     */
-    private static boolean isMatchesGenre(Genre genre, Movie movie) {
-        return (genre == null || movie.getGenres().contains(genre));
-    }
-
-    /**
-     * Checks if the movie's title and description contains the search text, ignoring case.
-     *
-     * @param searchText The text to search for in the movie's title.
-     * @param movie      The movie whose title is to be checked.
-     * @return {@code true} if the movie's title and the movie's description contains the search text; {@code false} otherwise.
-     */
-    private static boolean isMatchesSearchText(String searchText, Movie movie) {
-        return movie.getTitle().toLowerCase().contains(searchText.toLowerCase()) ||
-                movie.getDescription().toLowerCase().contains(searchText.toLowerCase());
-    }
-
     /**
      * Streams through a list of movies to get the actor who appears most frequently in the main cast
      *
@@ -7,14 +7,21 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class AscendingSortState implements SortState {
+    private static final Comparator<Movie> BY_TITLE = Comparator.comparing(Movie::getTitle);
+
     @Override
     public List<Movie> sort(List<Movie> movies) {
         // Sort movies in ascending order by title
         return movies.stream()
-                .sorted(Comparator.comparing(Movie::getTitle))
+                .sorted(BY_TITLE)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Comparator<Movie> getComparator() {
+        return BY_TITLE;
+    }
+
     @Override
     public SortState nextState() {
         // Next state is Descending sort
@@ -7,14 +7,21 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class DescendingSortState implements SortState {
+    private static final Comparator<Movie> BY_TITLE_REVERSED = Comparator.comparing(Movie::getTitle).reversed();
+
     @Override
     public List<Movie> sort(List<Movie> movies) {
         // Sort movies in descending order by title
         return movies.stream()
-                .sorted(Comparator.comparing(Movie::getTitle).reversed())
+                .sorted(BY_TITLE_REVERSED)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Comparator<Movie> getComparator() {
+        return BY_TITLE_REVERSED;
+    }
+
     @Override
     public SortState nextState() {
         // Next state is back to Unsorted
@@ -2,6 +2,7 @@ package org.fhmdb.fhmdb_lijunamatata.state;
 
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
+import java.util.Comparator;
 import java.util.List;
 
 public class SortContext {
@@ -16,6 +17,10 @@ public class SortContext {
         return currentState.sort(movies);
     }
 
+    public Comparator<Movie> getComparator() {
+        return currentState.getComparator();
+    }
+
     public void nextState() {
         currentState = currentState.nextState();
     }
@@ -2,10 +2,17 @@ package org.fhmdb.fhmdb_lijunamatata.state;
 
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
+import java.util.Comparator;
 import java.util.List;
 
 public interface SortState {
     List<Movie> sort(List<Movie> movies);
+
+    /**
+     * @return the order of this state, e.g. for a SortedList, or null to keep the order of the movies
+     */
+    Comparator<Movie> getComparator();
+
     SortState nextState();
     String getButtonText();
 }
@@ -2,6 +2,7 @@ package org.fhmdb.fhmdb_lijunamatata.state;
 
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 
+import java.util.Comparator;
 import java.util.List;
 
 public class UnsortedState implements SortState {
@@ -11,6 +12,12 @@ public class UnsortedState implements SortState {
         return movies;
     }
 
+    @Override
+    public Comparator<Movie> getComparator() {
+        // keeps the order of the API
+        return null;
+    }
+
     @Override
     public SortState nextState() {
         // Next state is Ascending sort
@@ -11,10 +11,9 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.utils.PerformanceMonitor;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
 
 /**
  * @author Julia, Lilie
@@ -22,6 +21,12 @@ import java.util.stream.Stream;
  * Abstract base class for movie cells in both main list and watchlist
  */
 public abstract class AbstractMovieCell extends ListCell<Movie> {
+    // shared by all cells, backgrounds are immutable
+    private static final Background CELL_BACKGROUND =
+            new Background(new BackgroundFill(Color.web("#454545"), null, null));
+    private static final String NO_DESCRIPTION = "No description available";
+    private static final PerformanceMonitor PERFORMANCE_MONITOR = PerformanceMonitor.getInstance();
+
     protected final Label title = new Label();
     protected final Label description = new Label();
     protected final Label genre = new Label();
@@ -33,11 +38,31 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
     protected final HBox cellLayout;
     protected boolean detailsVisible = false;
 
+    // content of the details box, built when the details are shown the first time and reused afterwards
+    private VBox details;
+    private final Text releaseYearValue = new Text();
+    private final Text ratingValue = new Text();
+    private final Text lengthValue = new Text();
+    private final Text directorsValue = new Text();
+    private final Text writersValue = new Text();
+    private final Text mainCastValue = new Text();
+    private TextFlow directorsRow;
+    private TextFlow writersRow;
+    private TextFlow mainCastRow;
+
+    /**
+     * Sets up the layout, the styling and the width bindings once per cell.
+     * updateItem() then only has to assign the texts of the new movie.
+     */
     protected AbstractMovieCell() {
         buttonLayout = new HBox(detailButton);
         cellLayout = new HBox(movieLayout, rightLayout);
         styleLayout();
         initButtonEvent();
+
+        // The bindings are only renewed when the cell is moved to another ListView, not for every item
+        setupResponsiveLayout();
+        listViewProperty().addListener((observable, oldListView, newListView) -> setupResponsiveLayout());
     }
 
     protected void setActionButton(Button actionButton) {
@@ -85,6 +110,13 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
         rightLayout.setAlignment(Pos.BOTTOM_RIGHT);
         rightLayout.getChildren().add(buttonLayout);
         VBox.setVgrow(rightLayout, Priority.ALWAYS);
+
+        // Style the cell
+        cellLayout.setBackground(CELL_BACKGROUND);
+
+        // Style buttons
+        //Control.USE_PREF_SIZE is a constant in JavaFX that tells the layout to use the control's preferred size for the minimum width.
+        buttonLayout.setMinWidth(Control.USE_PREF_SIZE);
     }
 
     /**
@@ -94,53 +126,71 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
     protected void initButtonEvent() {
         detailButton.setOnMouseClicked(mouseEvent -> {
             if (!detailsVisible) {
-                // Show details
-                detailsBox.getChildren().setAll(getDetails());
-                movieLayout.getChildren().add(detailsBox);
-                detailButton.setText("Hide Details");
-                detailsVisible = true;
+                showDetails();
             } else {
-                // Hide details
-                movieLayout.getChildren().remove(detailsBox);
-                detailButton.setText("Show Details");
-                detailsVisible = false;
+                hideDetails();
             }
         });
     }
 
+    private void showDetails() {
+        VBox currentDetails = getDetails();
+        if (detailsBox.getChildren().isEmpty()) {
+            detailsBox.getChildren().add(currentDetails);
+        }
+        movieLayout.getChildren().add(detailsBox);
+        detailButton.setText("Hide Details");
+        detailsVisible = true;
+    }
+
+    private void hideDetails() {
+        movieLayout.getChildren().remove(detailsBox);
+        detailButton.setText("Show Details");
+        detailsVisible = false;
+    }
+
     /**
      * Method to structure the detailed information inside the details box.
      * Additional non-null check if the information (like in WatchlistCell) is empty, so the information
      * is not shown in the detail-box!
+     * The box is built on first use and reused for every following movie of this cell, only its texts are replaced.
      * @return VBox with all the detailed information of the movie
      */
     protected VBox getDetails() {
-        VBox details = new VBox(5); // 5px spacing between elements
-
-        // Create a TextFlow for the details to be added to the detailsbox as children
-        TextFlow releaseYear = createStyledText("Release Year: ", String.valueOf(getItem().getReleaseYear()));
-        TextFlow length = createStyledText("Length: ", getItem().getLengthInMinutes() + " minutes");
-        TextFlow rating = createStyledText("Rating: ", getItem().getRating() + "/10");
-
-        List<String> directorsList = getItem().getDirectors();
-        TextFlow directors = directorsList.isEmpty() ? null : createStyledText("Directors: ", String.join(", ", directorsList));
-
-        List<String> writersList = getItem().getWriters();
-        TextFlow writers = writersList.isEmpty() ? null : createStyledText("Writers: ", String.join(", ", writersList));
-
-        List<String> mainCastList = getItem().getMainCast();
-        TextFlow mainCast = mainCastList.isEmpty() ? null : createStyledText("Main Cast: ", String.join(", ", mainCastList));
-
-        // Add the non-null TextFlows
-        // Add all non-null elements
-        details.getChildren().addAll(releaseYear, rating, length);
-        Stream.of(directors, writers, mainCast)
-                .filter(Objects::nonNull)
-                .forEach(details.getChildren()::add);
+        if (details == null) {
+            details = new VBox(5); // 5px spacing between elements
+
+            // Create a TextFlow for the details to be added to the detailsbox as children
+            directorsRow = createStyledText("Directors: ", directorsValue);
+            writersRow = createStyledText("Writers: ", writersValue);
+            mainCastRow = createStyledText("Main Cast: ", mainCastValue);
+            details.getChildren().addAll(
+                    createStyledText("Release Year: ", releaseYearValue),
+                    createStyledText("Rating: ", ratingValue),
+                    createStyledText("Length: ", lengthValue),
+                    directorsRow, writersRow, mainCastRow);
+        }
 
+        Movie movie = getItem();
+        if (movie != null) {
+            releaseYearValue.setText(String.valueOf(movie.getReleaseYear()));
+            lengthValue.setText(movie.getLengthInMinutes() + " minutes");
+            ratingValue.setText(movie.getRating() + "/10");
+            // Only the non-empty lists are shown
+            setPeople(directorsRow, directorsValue, movie.getDirectors());
+            setPeople(writersRow, writersValue, movie.getWriters());
+            setPeople(mainCastRow, mainCastValue, movie.getMainCast());
+        }
         return details;
     }
 
+    private static void setPeople(TextFlow row, Text value, List<String> people) {
+        boolean present = people != null && !people.isEmpty();
+        value.setText(present ? String.join(", ", people) : "");
+        row.setVisible(present);
+        row.setManaged(present);
+    }
+
     /**
      * Method that formats the parts of the detail box to make it more readable
      * @param labelText
@@ -148,8 +198,17 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
      * @return a combined TextFlow element with formatted label(bold) and text for the detailbox
      */
     protected TextFlow createStyledText(String labelText, String valueText) {
+        return createStyledText(labelText, new Text(valueText));
+    }
+
+    /**
+     * Same as {@link #createStyledText(String, String)}, with a value node whose text can be replaced later
+     * @param labelText
+     * @param valuePart
+     * @return a combined TextFlow element with formatted label(bold) and the value node
+     */
+    protected TextFlow createStyledText(String labelText, Text valuePart) {
         Text labelPart = new Text(labelText);
-        Text valuePart = new Text(valueText);
 
         // Apply styles directly using inline styles for Text nodes
         labelPart.setFill(Color.WHITE);
@@ -163,7 +222,8 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
 
     /**
      * Method to setup responsive layout for the movieLayout-box, title, description and genre to be
-     * bound with the widthProperty, respondent to width, padding and listView element
+     * bound with the widthProperty, respondent to width, padding and listView element.
+     * Called once when the cell is created and again only if it is added to another ListView.
      */
     protected void setupResponsiveLayout() {
         // Set up responsive layout if ListView is available
@@ -181,50 +241,55 @@ public abstract class AbstractMovieCell extends ListCell<Movie> {
             rightLayout.prefWidthProperty().bind(getListView().widthProperty().multiply(0.2));
         } else {
             // Fallback fixed widths if ListView isn't available
+            movieLayout.prefWidthProperty().unbind();
+            cellLayout.prefWidthProperty().unbind();
+            rightLayout.prefWidthProperty().unbind();
             movieLayout.setPrefWidth(800);
             cellLayout.setPrefWidth(1000);
             rightLayout.setPrefWidth(200);
         }
     }
 
+    /**
+     * Shows the given movie. Styling, bindings and the layout are set up once in the constructor,
+     * so this only assigns the texts, which are skipped as well if the cell shows the same movie again.
+     */
     @Override
     protected void updateItem(Movie movie, boolean empty) {
+        long start = PERFORMANCE_MONITOR.startTimer();
+        Movie previous = getItem();
         super.updateItem(movie, empty);
 
-        // Clear previous styles and graphic
-        this.getStyleClass().removeAll("movie-cell");
-        setGraphic(null);
-
         if (empty || movie == null) {
+            this.getStyleClass().remove("movie-cell");
             setText(null);
-        } else {
-            // Adds the movie-cell element, setting the title, description and genre
-            this.getStyleClass().add("movie-cell");
-            title.setText(movie.getTitle());
-            description.setText(
-                    movie.getDescription() != null
-                            ? movie.getDescription()
-                            : "No description available"
-            );
-
-            genre.setText(String.join(", ", movie.getGenres().stream()
-                    .map(Enum::name)
-                    .toArray(String[]::new)));
-
-            // Style the cell
-            cellLayout.setBackground(new Background(new BackgroundFill(Color.web("#454545"), null, null)));
-
-            setupResponsiveLayout();
+            setGraphic(null);
+            if (detailsVisible) {
+                hideDetails();
+            }
+            PERFORMANCE_MONITOR.stopTimer(PerformanceMonitor.ACTION_CELL_UPDATE, start);
+            return;
+        }
 
-            // Style buttons
-            //Control.USE_PREF_SIZE is a constant in JavaFX that tells the layout to use the control's preferred size for the minimum width.
-            buttonLayout.setMinWidth(Control.USE_PREF_SIZE);
+        if (movie != previous) {
+            // A reused cell starts with the basic info only
+            if (detailsVisible) {
+                hideDetails();
+            }
+            title.setText(movie.getTitle());
+            description.setText(movie.getDescription() != null ? movie.getDescription() : NO_DESCRIPTION);
+            genre.setText(movie.getGenresText());
+        }
 
-            // Ensure only basic info is shown initially
-            movieLayout.getChildren().setAll(title, description, genre);
+        // Adds the movie-cell element, changing the style classes makes the cell apply its CSS again
+        if (!this.getStyleClass().contains("movie-cell")) {
+            this.getStyleClass().add("movie-cell");
+        }
 
-            //Set everything in place
+        //Set everything in place
+        if (getGraphic() != cellLayout) {
             setGraphic(cellLayout);
         }
+        PERFORMANCE_MONITOR.stopTimer(PerformanceMonitor.ACTION_CELL_UPDATE, start);
     }
 }
@@ -1,7 +1,6 @@
 package org.fhmdb.fhmdb_lijunamatata.ui;
 
 import javafx.scene.control.Button;
-import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 import org.fhmdb.fhmdb_lijunamatata.repositories.WatchlistRepository;
@@ -48,14 +47,8 @@ public class MovieCell extends AbstractMovieCell {
         if (empty || movie == null) {
             watchlistButton.setVisible(false);
         } else {
-            try {
-                boolean alreadyInWatchlist = watchlistRepository.existsInWatchlist(
-                        new MovieEntity(movie).getApiId()
-                );
-                watchlistButton.setVisible(!alreadyInWatchlist);
-            } catch (DatabaseException e) {
-                watchlistButton.setVisible(true); // fallback: show button
-            }
+            // in-memory lookup, no database query while scrolling
+            watchlistButton.setVisible(!watchlistRepository.contains(movie.getId()));
         }
     }
 }
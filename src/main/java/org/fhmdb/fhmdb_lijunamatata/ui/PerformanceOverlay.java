@@ -0,0 +1,68 @@
+package org.fhmdb.fhmdb_lijunamatata.ui;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+import org.fhmdb.fhmdb_lijunamatata.utils.PerformanceMonitor;
+
+import java.util.Map;
+
+/**
+ * Label showing the numbers of the {@link PerformanceMonitor}: frame time percentiles, stalls,
+ * the latency of the last filter query and the durations of the instrumented actions.
+ * It is refreshed twice per second while it is shown, see {@link #show()} and {@link #hide()}.
+ */
+public class PerformanceOverlay extends Label {
+    private static final Duration REFRESH_INTERVAL = Duration.millis(500);
+
+    private final PerformanceMonitor monitor;
+    private final Timeline refreshTimeline;
+
+    public PerformanceOverlay(PerformanceMonitor monitor) {
+        this.monitor = monitor;
+        this.refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+        this.refreshTimeline.setCycleCount(Animation.INDEFINITE);
+        getStyleClass().add("performance-overlay");
+        setWrapText(true);
+        setMaxWidth(Double.MAX_VALUE);
+    }
+
+    /**
+     * Starts the monitor and the refreshing of the text.
+     */
+    public void show() {
+        monitor.start();
+        refresh();
+        refreshTimeline.play();
+    }
+
+    /**
+     * Stops the monitor and the refreshing of the text.
+     */
+    public void hide() {
+        refreshTimeline.stop();
+        monitor.stop();
+    }
+
+    private void refresh() {
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Frames p50 %.1f ms / p99 %.1f ms / max %.1f ms | stalls %d of %d frames (>= %d ms)",
+                snapshot.getFramePercentileMillis(50), snapshot.getFramePercentileMillis(99),
+                snapshot.getMaxFrameMillis(), snapshot.getStallCount(), snapshot.getFrameCount(),
+                PerformanceMonitor.STALL_THRESHOLD_NANOS / 1_000_000));
+
+        PerformanceMonitor.ActionStatistics query = snapshot.getAction(PerformanceMonitor.ACTION_QUERY);
+        text.append(query == null ? "\nLast query: -" : String.format("\nLast query: %.0f ms", query.getLastMillis()));
+
+        for (Map.Entry<String, PerformanceMonitor.ActionStatistics> action : snapshot.getActions().entrySet()) {
+            PerformanceMonitor.ActionStatistics statistics = action.getValue();
+            text.append(String.format("\n%s: last %.2f ms, avg %.2f ms, max %.2f ms, n=%d", action.getKey(),
+                    statistics.getLastMillis(), statistics.getAverageMillis(), statistics.getMaxMillis(),
+                    statistics.getCount()));
+        }
+        setText(text.toString());
+    }
+}
@@ -6,10 +6,12 @@ import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.BorderPane;
 import org.fhmdb.fhmdb_lijunamatata.controller.FHMDbController;
 import org.fhmdb.fhmdb_lijunamatata.controller.WatchlistController;
+import org.fhmdb.fhmdb_lijunamatata.utils.PerformanceMonitor;
 
 import java.io.IOException;
 
@@ -30,13 +32,17 @@ public class SceneRoot extends BorderPane {
         Separator separator = new Separator();
         Button buttonMovieView = new Button("Home");
         Button buttonWatchlistView = new Button("Watchlist");
+        ToggleButton buttonPerformance = new ToggleButton("Performance");
 
-        ToolBar toolBar = new ToolBar(navigationLabel, separator, buttonMovieView, buttonWatchlistView);
+        ToolBar toolBar = new ToolBar(navigationLabel, separator, buttonMovieView, buttonWatchlistView,
+                new Separator(), buttonPerformance);
         toolBar.getStyleClass().add("nav-bar");
         buttonMovieView.maxWidthProperty().bind(this.widthProperty());
         buttonMovieView.getStyleClass().add("nav-button");
         buttonWatchlistView.maxWidthProperty().bind(this.widthProperty());
         buttonWatchlistView.getStyleClass().add("nav-button");
+        buttonPerformance.maxWidthProperty().bind(this.widthProperty());
+        buttonPerformance.getStyleClass().add("nav-button");
         toolBar.setOrientation(Orientation.VERTICAL);
 
         this.setLeft(toolBar);
@@ -52,6 +58,20 @@ public class SceneRoot extends BorderPane {
         buttonMovieView.setOnAction(e -> {this.setCenter(moviesRoot); fhmdbController.initialize();});
         buttonWatchlistView.setOnAction(e -> {this.setCenter(watchlistRoot); watchlistController.initialize();});
 
+        //Performance overlay at the bottom, measuring only while it is shown
+        PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
+        PerformanceOverlay performanceOverlay = new PerformanceOverlay(performanceMonitor);
+        buttonPerformance.selectedProperty().addListener((observable, wasSelected, selected) -> {
+            if (selected) {
+                this.setBottom(performanceOverlay);
+                performanceOverlay.show();
+            } else {
+                performanceOverlay.hide();
+                this.setBottom(null);
+            }
+        });
+        //shown from the start with -Dfhmdb.perf.enabled=true
+        buttonPerformance.setSelected(performanceMonitor.isEnabled());
     }
 
     public static SceneRoot getInstance (FXMLLoader fxmlLoaderMoviesView, FXMLLoader fxmlLoaderWatchlistView) throws IOException {
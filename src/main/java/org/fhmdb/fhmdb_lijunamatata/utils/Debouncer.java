@@ -0,0 +1,207 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Debounces bursts of events, e.g. key presses, into a single action.
+ * <p>
+ * Every call opens or extends a quiet window of the configured delay. With the leading edge enabled the
+ * first call of a burst runs its action immediately on the calling thread, with the trailing edge enabled
+ * the action of the last call runs on the scheduler thread once the window has passed without further calls.
+ * Enabling both gives immediate feedback and still catches the final state of a burst.
+ * Actions that are replaced by a later call or not run because their edge is disabled are counted as suppressed.
+ * <p>
+ * The scheduler is long-lived and can be shared by several debouncers; pending actions are cancelled
+ * through their {@link ScheduledFuture}, the scheduler itself is never recreated.
+ */
+public class Debouncer {
+    private static final Logger logger = Logger.getLogger(Debouncer.class.getName());
+
+    private final ScheduledExecutorService scheduler;
+    private final long delayMillis;
+    private final boolean leading;
+    private final boolean trailing;
+
+    private final AtomicLong callCount = new AtomicLong();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    // state of the current window, guarded by this
+    private ScheduledFuture<?> pending;
+    private Runnable pendingAction;
+    private long window;
+
+    /**
+     * Creates a debouncer running only on the trailing edge.
+     *
+     * @param scheduler   the scheduler running the trailing actions
+     * @param delayMillis length of the quiet window
+     */
+    public Debouncer(ScheduledExecutorService scheduler, long delayMillis) {
+        this(scheduler, delayMillis, false, true);
+    }
+
+    /**
+     * @param scheduler   the scheduler running the trailing actions
+     * @param delayMillis length of the quiet window
+     * @param leading     run the first call of a burst immediately
+     * @param trailing    run the last call of a burst after the window
+     */
+    public Debouncer(ScheduledExecutorService scheduler, long delayMillis, boolean leading, boolean trailing) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + delayMillis);
+        }
+        if (!leading && !trailing) {
+            throw new IllegalArgumentException("At least one of leading and trailing edge has to be enabled");
+        }
+        this.scheduler = scheduler;
+        this.delayMillis = delayMillis;
+        this.leading = leading;
+        this.trailing = trailing;
+    }
+
+    /**
+     * Creates a single-thread scheduler for debouncers. Its thread is a daemon, so it never keeps the
+     * application alive, but it should still be shut down when it is no longer needed.
+     *
+     * @param name name of the scheduler thread
+     * @return the new scheduler
+     */
+    public static ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers an event. Depending on the edges the action runs now, after the window, or not at all
+     * if another call follows within the window.
+     *
+     * @param action the action of this event
+     */
+    public void call(Runnable action) {
+        callCount.incrementAndGet();
+        boolean runNow;
+        synchronized (this) {
+            runNow = leading && pending == null;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            if (pendingAction != null) {
+                // replaced by this call
+                suppressedCount.incrementAndGet();
+            }
+            pendingAction = runNow ? null : action;
+
+            long currentWindow = ++window;
+            if (scheduler.isShutdown()) {
+                pending = null;
+                pendingAction = null;
+                return;
+            }
+            pending = scheduler.schedule(() -> endWindow(currentWindow), delayMillis, TimeUnit.MILLISECONDS);
+        }
+        if (runNow) {
+            run(action);
+        }
+    }
+
+    /**
+     * Runs the pending action right away on the calling thread, if there is one, and closes the window.
+     */
+    public void flush() {
+        Runnable action;
+        synchronized (this) {
+            action = takePending();
+        }
+        if (action != null) {
+            run(action);
+        }
+    }
+
+    /**
+     * Drops the pending action and closes the window.
+     */
+    public synchronized void cancel() {
+        pendingAction = null;
+        takePending();
+    }
+
+    /**
+     * @return true while a window is open, i.e. a call happened less than the delay ago
+     */
+    public synchronized boolean isPending() {
+        return pending != null;
+    }
+
+    /**
+     * @return how many times {@link #call(Runnable)} was invoked
+     */
+    public long getCallCount() {
+        return callCount.get();
+    }
+
+    /**
+     * @return how many actions were run
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * @return how many actions were dropped because of a later call or a disabled edge
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Called on the scheduler thread when the window has passed without another call.
+     */
+    private void endWindow(long endedWindow) {
+        Runnable action;
+        synchronized (this) {
+            if (endedWindow != window) {
+                return; // a newer call has extended the window
+            }
+            action = takePending();
+            if (action != null && !trailing) {
+                suppressedCount.incrementAndGet();
+                action = null;
+            }
+        }
+        if (action != null) {
+            run(action);
+        }
+    }
+
+    /**
+     * Closes the current window and returns its pending action. Caller holds the lock.
+     */
+    private Runnable takePending() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        window++;
+        Runnable action = pendingAction;
+        pendingAction = null;
+        return action;
+    }
+
+    private void run(Runnable action) {
+        executedCount.incrementAndGet();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.warning("Error running debounced action: " + e.getMessage());
+        }
+    }
+}
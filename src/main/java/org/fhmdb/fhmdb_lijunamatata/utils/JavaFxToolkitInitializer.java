@@ -2,6 +2,8 @@ package org.fhmdb.fhmdb_lijunamatata.utils;
 
 import javafx.application.Platform;
 
+import java.util.logging.Logger;
+
 /**
  * Utility class to safely initialize the JavaFX Toolkit once.
  * <p>
@@ -12,23 +14,38 @@ import javafx.application.Platform;
  * Calling {@code JavaFxToolkitInitializer.initialize()} ensures that the JavaFX runtime
  * is available and avoids IllegalStateException due to multiple initializations.
  * <p>
+ * The toolkit needs a display. Without one (e.g. on a CI machine without X server) it cannot be started;
+ * {@link #initialize()} then returns false, so tests depending on the JavaFX application thread can be
+ * skipped with {@code Assumptions.assumeTrue(...)} instead of failing the whole test class.
+ * To run them on such a machine, start Maven inside a virtual display, e.g. {@code xvfb-run mvn test}.
+ * <p>
  * It is safe to call from multiple test classes or threads.
  */
 public class JavaFxToolkitInitializer {
+    private static final Logger logger = Logger.getLogger(JavaFxToolkitInitializer.class.getName());
     private static boolean initialized = false;
+    private static boolean available = false;
 
     /**
      * Ensures JavaFX Toolkit is started exactly once.
      * Safe to call from multiple test classes.
+     *
+     * @return true if the toolkit is running, false if it cannot be started because no display is available
      */
-    public static synchronized void initialize() {
+    public static synchronized boolean initialize() {
         if (!initialized) {
             try {
                 Platform.startup(() -> {});
+                available = true;
             } catch (IllegalStateException ignored) {
                 // Toolkit already initialized — ignore
+                available = true;
+            } catch (UnsupportedOperationException e) {
+                logger.warning("JavaFX toolkit not available, tests needing it are skipped: " + e.getMessage());
+                available = false;
             }
             initialized = true;
         }
+        return available;
     }
 }
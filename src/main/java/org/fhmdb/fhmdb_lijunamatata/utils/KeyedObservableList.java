@@ -0,0 +1,151 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Read-only observable list that is replaced as a whole with {@link #update(List)}, but only reports what changed.
+ * <p>
+ * The old and the new items are matched by their key, e.g. the movie id. Items with a key that is no longer present
+ * are removed, items with a new key are added, and items whose key stays are kept in place, or replaced if they are
+ * no longer equal. If the order of the kept items changed, the longest run of items that is still in order stays and
+ * only the others are moved. All of this is reported as one change event, so a ListView or a SortedList on top of
+ * this list only has to handle the items that actually changed instead of a full clear and addAll.
+ *
+ * @param <T> type of the items
+ * @param <K> type of the key identifying an item
+ */
+public class KeyedObservableList<T, K> extends ObservableListBase<T> {
+    private final Function<? super T, ? extends K> keyExtractor;
+    private List<T> items = new ArrayList<>();
+
+    /**
+     * @param keyExtractor returns the key of an item, keys should be unique within a list
+     */
+    public KeyedObservableList(Function<? super T, ? extends K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Replaces the content of this list with the given items, firing a single change with the minimal
+     * removals, additions and replacements.
+     *
+     * @param newItems the new content, not modified by this list
+     */
+    public void update(List<? extends T> newItems) {
+        List<T> oldItems = this.items;
+        List<T> targetItems = new ArrayList<>(newItems);
+        int oldSize = oldItems.size();
+        int newSize = targetItems.size();
+
+        // position of each key in the new list, a repeated key counts as a new item
+        Map<K, Integer> newPositions = new HashMap<>(Math.max(16, (int) (newSize / 0.75f) + 1));
+        for (int position = 0; position < newSize; position++) {
+            newPositions.putIfAbsent(keyExtractor.apply(targetItems.get(position)), position);
+        }
+        int[] targets = new int[oldSize];
+        boolean[] claimed = new boolean[newSize];
+        for (int position = 0; position < oldSize; position++) {
+            Integer target = newPositions.get(keyExtractor.apply(oldItems.get(position)));
+            if (target != null && !claimed[target]) {
+                claimed[target] = true;
+                targets[position] = target;
+            } else {
+                targets[position] = -1;
+            }
+        }
+
+        boolean[] keptOld = longestIncreasingRun(targets);
+        boolean[] keptNew = new boolean[newSize];
+        for (int position = 0; position < oldSize; position++) {
+            if (keptOld[position]) {
+                keptNew[targets[position]] = true;
+            }
+        }
+
+        // walk both lists and report every change at its position in the list as changed so far
+        List<T> result = new ArrayList<>(newSize);
+        beginChange();
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < oldSize || newIndex < newSize) {
+            if (oldIndex < oldSize && !keptOld[oldIndex]) {
+                int start = oldIndex;
+                while (oldIndex < oldSize && !keptOld[oldIndex]) {
+                    oldIndex++;
+                }
+                nextRemove(result.size(), oldItems.subList(start, oldIndex));
+            } else if (newIndex < newSize && !keptNew[newIndex]) {
+                int from = result.size();
+                while (newIndex < newSize && !keptNew[newIndex]) {
+                    result.add(targetItems.get(newIndex++));
+                }
+                nextAdd(from, result.size());
+            } else {
+                // same key in both lists
+                T oldItem = oldItems.get(oldIndex++);
+                T newItem = targetItems.get(newIndex++);
+                if (oldItem.equals(newItem)) {
+                    result.add(oldItem);
+                } else {
+                    result.add(newItem);
+                    nextSet(result.size() - 1, oldItem);
+                }
+            }
+        }
+        this.items = result;
+        endChange();
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Marks the positions forming the longest strictly increasing run of targets, ignoring targets of -1.
+     * Patience sorting, O(n log n).
+     */
+    static boolean[] longestIncreasingRun(int[] targets) {
+        int[] tailPositions = new int[targets.length];
+        int[] previous = new int[targets.length];
+        int length = 0;
+        for (int position = 0; position < targets.length; position++) {
+            int target = targets[position];
+            if (target < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (targets[tailPositions[middle]] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[position] = low > 0 ? tailPositions[low - 1] : -1;
+            tailPositions[low] = position;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[targets.length];
+        for (int position = length > 0 ? tailPositions[length - 1] : -1; position >= 0; position = previous[position]) {
+            kept[position] = true;
+        }
+        return kept;
+    }
+}
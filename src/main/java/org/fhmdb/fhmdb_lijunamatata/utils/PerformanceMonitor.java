@@ -0,0 +1,291 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Measures how smooth the UI runs: the time between two JavaFX pulses (frames) and the duration of
+ * instrumented actions such as filtering, sorting or cell updates.
+ * <p>
+ * Frame times are taken by an {@link AnimationTimer}, which is called once per pulse on the JavaFX application
+ * thread; the last {@value #FRAME_WINDOW} frames are kept for the percentiles. A frame taking at least
+ * {@link #STALL_THRESHOLD_NANOS} counts as a stall, i.e. the FX thread was blocked long enough to be noticed.
+ * <p>
+ * Actions are timed with {@link #startTimer()} and {@link #stopTimer(String, long)}. While the monitor is disabled
+ * both are no-ops without allocations, so the instrumentation can stay in hot paths like cell updates.
+ * The monitor is started with the overlay in {@code SceneRoot}, or at startup with -Dfhmdb.perf.enabled=true.
+ */
+public class PerformanceMonitor {
+    public static final String ENABLED_PROPERTY = "fhmdb.perf.enabled";
+
+    // names of the instrumented actions
+    public static final String ACTION_FILTER = "filterMovies";
+    public static final String ACTION_QUERY = "filter query";
+    public static final String ACTION_APPLY_FILTER = "apply filter result";
+    public static final String ACTION_SORT = "sortMovies";
+    public static final String ACTION_CELL_UPDATE = "cell update";
+    public static final String ACTION_WATCHLIST_REFRESH = "watchlist refresh";
+
+    // about 10 seconds at 60 frames per second
+    static final int FRAME_WINDOW = 600;
+    public static final long STALL_THRESHOLD_NANOS = 50_000_000L;
+
+    private static PerformanceMonitor instance;
+
+    private volatile boolean enabled;
+    private final ConcurrentMap<String, ActionStatistics> actions = new ConcurrentHashMap<>();
+
+    // frame times, guarded by this
+    private final long[] frameNanos = new long[FRAME_WINDOW];
+    private long frameCount;
+    private long stallCount;
+    private long lastPulseNanos;
+    private AnimationTimer frameTimer;
+
+    PerformanceMonitor() {
+        this.enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    public static synchronized PerformanceMonitor getInstance() {
+        if (instance == null) {
+            instance = new PerformanceMonitor();
+        }
+        return instance;
+    }
+
+    /**
+     * Enables the action timers and starts measuring frame times. Has to be called on the JavaFX application thread.
+     */
+    public synchronized void start() {
+        enabled = true;
+        if (frameTimer == null) {
+            frameTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onPulse(now);
+                }
+            };
+        }
+        // the first pulse after a pause must not count as a long frame
+        lastPulseNanos = 0;
+        frameTimer.start();
+    }
+
+    /**
+     * Disables the action timers and stops measuring frame times. The collected numbers are kept.
+     */
+    public synchronized void stop() {
+        enabled = false;
+        if (frameTimer != null) {
+            frameTimer.stop();
+        }
+    }
+
+    /**
+     * Enables or disables the action timers without touching the frame timer.
+     *
+     * @param enabled true to record actions
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops all frame times and action statistics.
+     */
+    public synchronized void reset() {
+        Arrays.fill(frameNanos, 0);
+        frameCount = 0;
+        stallCount = 0;
+        lastPulseNanos = 0;
+        actions.clear();
+    }
+
+    /**
+     * @return the start time to pass to {@link #stopTimer(String, long)}, or 0 if the monitor is disabled
+     */
+    public long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since the given start as one execution of the action.
+     *
+     * @param action      name of the action, e.g. {@link #ACTION_FILTER}
+     * @param startNanos  the value returned by {@link #startTimer()}
+     */
+    public void stopTimer(String action, long startNanos) {
+        if (startNanos != 0 && enabled) {
+            record(action, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records one execution of the action.
+     *
+     * @param action name of the action
+     * @param nanos  how long it took
+     */
+    public void record(String action, long nanos) {
+        actions.computeIfAbsent(action, name -> new ActionStatistics()).add(nanos);
+    }
+
+    private synchronized void onPulse(long now) {
+        if (lastPulseNanos != 0) {
+            recordFrame(now - lastPulseNanos);
+        }
+        lastPulseNanos = now;
+    }
+
+    /**
+     * Records the duration of one frame.
+     *
+     * @param nanos time since the previous pulse
+     */
+    synchronized void recordFrame(long nanos) {
+        frameNanos[(int) (frameCount % FRAME_WINDOW)] = nanos;
+        frameCount++;
+        if (nanos >= STALL_THRESHOLD_NANOS) {
+            stallCount++;
+        }
+    }
+
+    /**
+     * @return the current numbers, consistent with each other
+     */
+    public Snapshot snapshot() {
+        long[] frames;
+        long totalFrames;
+        long stalls;
+        synchronized (this) {
+            frames = Arrays.copyOf(frameNanos, (int) Math.min(frameCount, FRAME_WINDOW));
+            totalFrames = frameCount;
+            stalls = stallCount;
+        }
+        Arrays.sort(frames);
+
+        Map<String, ActionStatistics> actionCopies = new TreeMap<>();
+        actions.forEach((name, statistics) -> actionCopies.put(name, statistics.copy()));
+        return new Snapshot(frames, totalFrames, stalls, actionCopies);
+    }
+
+    /**
+     * Count, last, maximum and total duration of an action.
+     */
+    public static class ActionStatistics {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+        }
+
+        synchronized ActionStatistics copy() {
+            ActionStatistics copy = new ActionStatistics();
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.lastNanos = lastNanos;
+            return copy;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getAverageMillis() {
+            return count == 0 ? 0 : totalNanos / (double) count / 1_000_000;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public double getLastMillis() {
+            return lastNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * The numbers of the monitor at one point in time.
+     */
+    public static class Snapshot {
+        private final long[] sortedFrameNanos;
+        private final long frameCount;
+        private final long stallCount;
+        private final Map<String, ActionStatistics> actions;
+
+        Snapshot(long[] sortedFrameNanos, long frameCount, long stallCount, Map<String, ActionStatistics> actions) {
+            this.sortedFrameNanos = sortedFrameNanos;
+            this.frameCount = frameCount;
+            this.stallCount = stallCount;
+            this.actions = Collections.unmodifiableMap(actions);
+        }
+
+        /**
+         * Nearest-rank percentile of the frame times in the window.
+         *
+         * @param percentile between 0 and 100
+         * @return the frame time in milliseconds, 0 if no frame was measured yet
+         */
+        public double getFramePercentileMillis(double percentile) {
+            if (sortedFrameNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedFrameNanos.length);
+            int index = Math.min(sortedFrameNanos.length - 1, Math.max(0, rank - 1));
+            return sortedFrameNanos[index] / 1_000_000.0;
+        }
+
+        /**
+         * @return the longest frame in the window in milliseconds
+         */
+        public double getMaxFrameMillis() {
+            return sortedFrameNanos.length == 0 ? 0 : sortedFrameNanos[sortedFrameNanos.length - 1] / 1_000_000.0;
+        }
+
+        /**
+         * @return all frames measured since the start or the last reset
+         */
+        public long getFrameCount() {
+            return frameCount;
+        }
+
+        /**
+         * @return frames of at least {@link #STALL_THRESHOLD_NANOS} since the start or the last reset
+         */
+        public long getStallCount() {
+            return stallCount;
+        }
+
+        /**
+         * @param action name of the action
+         * @return its statistics, or null if it was not recorded yet
+         */
+        public ActionStatistics getAction(String action) {
+            return actions.get(action);
+        }
+
+        /**
+         * @return the statistics of all recorded actions, sorted by name
+         */
+        public Map<String, ActionStatistics> getActions() {
+            return actions;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.fhmdb.fhmdb_lijunamatata.api;
 
+import okhttp3.Cache;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
 import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
@@ -9,11 +12,19 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,7 +40,7 @@ public class MovieAPITest {
         mockWebServer.start();
 
         // Override base URL to use mock server for testing
-        movieAPI = new MovieAPI() {
+        movieAPI = new MovieAPI(null) {
             @Override
             protected String getBaseUrl() {
                 return mockWebServer.url("/movies").toString();
@@ -147,4 +158,251 @@ public class MovieAPITest {
         assertEquals(1, movies.size(), "There should be one movie in the response");
         assertEquals("The Matrix", movies.get(0).getTitle(), "The movie title should be 'The Matrix'");
     }
+
+    @Test
+    @DisplayName("Test streamMovies - emits every movie in response order")
+    void streamMovies_emitsMoviesInOrder() throws MovieApiException {
+        String jsonResponse =
+                """
+                [
+                  {"id": "1", "title": "Inception", "genres": ["ACTION"], "releaseYear": 2010, "rating": 8.8},
+                  {"id": "2", "title": "The Matrix", "genres": ["SCIENCE_FICTION"], "releaseYear": 1999, "rating": 8.7}
+                ]
+                """;
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        List<String> titles = new ArrayList<>();
+        movieAPI.streamMovies(null, null, null, null, movie -> titles.add(movie.getTitle()));
+
+        assertEquals(List.of("Inception", "The Matrix"), titles, "Movies should be emitted in response order");
+    }
+
+    @Test
+    @DisplayName("Test fetchMovies - empty body returns an empty list")
+    void fetchMovies_emptyBody_returnsEmptyList() throws MovieApiException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("")
+                .addHeader("Content-Type", "application/json"));
+
+        assertTrue(movieAPI.fetchMovies(null, null, null, null).isEmpty(), "Empty body should yield no movies");
+    }
+
+    @Test
+    @DisplayName("Test fetchMovies - malformed JSON raises MovieApiException")
+    void fetchMovies_malformedJson_throwsMovieApiException() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"not\": \"an array\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        assertThrows(MovieApiException.class, () -> movieAPI.fetchMovies(null, null, null, null));
+    }
+
+    /**
+     * Creates a MovieAPI pointing at the mock server with its own cache in the given directory.
+     */
+    private MovieAPI cachedMovieAPI(File cacheDirectory) {
+        return new MovieAPI(cacheDirectory, 1024 * 1024) {
+            @Override
+            protected String getBaseUrl() {
+                return mockWebServer.url("/movies").toString();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Test response cache - stale entry is revalidated with ETag and 304 is served from cache")
+    void fetchMovies_revalidatesWithETag(@TempDir File cacheDirectory) throws Exception {
+        String jsonResponse = "[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]";
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304));
+
+        MovieAPI api = cachedMovieAPI(cacheDirectory);
+        List<Movie> first = api.fetchMovies("incep", null, null, null);
+        List<Movie> second = api.fetchMovies("incep", null, null, null);
+
+        mockWebServer.takeRequest();
+        RecordedRequest revalidation = mockWebServer.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"), "Second request should be conditional");
+        assertEquals(first.get(0).getTitle(), second.get(0).getTitle(), "304 should be answered from the cache");
+        assertEquals(1, api.getCache().hitCount(), "Revalidated response should count as a cache hit");
+    }
+
+    @Test
+    @DisplayName("Test response cache - fresh entry is served without a network call")
+    void fetchMovies_freshEntry_servedFromCache(@TempDir File cacheDirectory) throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]")
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Cache-Control", "max-age=60"));
+
+        MovieAPI api = cachedMovieAPI(cacheDirectory);
+        api.fetchMovies(null, Genre.ACTION, null, null);
+        List<Movie> cached = api.fetchMovies(null, Genre.ACTION, null, null);
+
+        assertEquals(1, mockWebServer.getRequestCount(), "Only the first request should reach the server");
+        assertEquals("Inception", cached.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Test response cache - different filters are cached separately")
+    void fetchMovies_differentFilters_missCache(@TempDir File cacheDirectory) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody("[]")
+                    .addHeader("Content-Type", "application/json")
+                    .addHeader("Cache-Control", "max-age=60"));
+        }
+
+        MovieAPI api = cachedMovieAPI(cacheDirectory);
+        api.fetchMovies(null, Genre.ACTION, null, null);
+        api.fetchMovies(null, Genre.DRAMA, null, null);
+
+        assertEquals(2, mockWebServer.getRequestCount(), "Each distinct URL should be fetched from the server");
+        assertEquals(0, api.getCache().hitCount());
+    }
+
+    @Test
+    @DisplayName("Test response cache - directory and size are read from system properties")
+    void createCache_usesSystemProperties(@TempDir File cacheDirectory) throws Exception {
+        System.setProperty(MovieAPI.CACHE_DIRECTORY_PROPERTY, cacheDirectory.getPath());
+        System.setProperty(MovieAPI.CACHE_MAX_SIZE_PROPERTY, "4096");
+        try (Cache cache = MovieAPI.createCache()) {
+            assertNotNull(cache);
+            assertEquals(cacheDirectory, cache.directory());
+            assertEquals(4096, cache.maxSize());
+        } finally {
+            System.clearProperty(MovieAPI.CACHE_DIRECTORY_PROPERTY);
+            System.clearProperty(MovieAPI.CACHE_MAX_SIZE_PROPERTY);
+        }
+    }
+
+    @Test
+    @DisplayName("Test response cache - a maximum size of 0 disables caching")
+    void createCache_zeroSize_disablesCache() {
+        System.setProperty(MovieAPI.CACHE_MAX_SIZE_PROPERTY, "0");
+        try {
+            assertNull(MovieAPI.createCache());
+        } finally {
+            System.clearProperty(MovieAPI.CACHE_MAX_SIZE_PROPERTY);
+        }
+    }
+
+    @Test
+    @DisplayName("Test fetchMoviesAsync - completes with the decoded movies")
+    void fetchMoviesAsync_returnsMovieList() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]")
+                .addHeader("Content-Type", "application/json"));
+
+        List<Movie> movies = movieAPI.fetchMoviesAsync(null, null, null, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, movies.size());
+        assertEquals("Inception", movies.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Test fetchMoviesAsync - HTTP error completes with MovieApiException")
+    void fetchMoviesAsync_httpError_completesExceptionally() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        CompletableFuture<List<Movie>> future = movieAPI.fetchMoviesAsync(null, null, null, null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MovieApiException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains("500"));
+    }
+
+    @Test
+    @DisplayName("Test fetchMoviesAsync - a newer query cancels the older one")
+    void fetchMoviesAsync_newerQuery_cancelsOlderQuery() throws Exception {
+        CountDownLatch olderArrived = new CountDownLatch(1);
+        CountDownLatch releaseOlder = new CountDownLatch(1);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if ("sta".equals(request.getRequestUrl().queryParameter("query"))) {
+                    // the older query is only answered once the test has checked that it was cancelled
+                    olderArrived.countDown();
+                    releaseOlder.await(5, TimeUnit.SECONDS);
+                    return new MockResponse()
+                            .setResponseCode(200)
+                            .setBody("[{\"id\": \"1\", \"title\": \"Stale\", \"genres\": [], \"rating\": 1.0}]");
+                }
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("[{\"id\": \"2\", \"title\": \"Fresh\", \"genres\": [], \"rating\": 9.0}]");
+            }
+        });
+
+        try {
+            CompletableFuture<List<Movie>> older = movieAPI.fetchMoviesAsync("sta", null, null, null);
+            assertTrue(olderArrived.await(5, TimeUnit.SECONDS), "The older query should reach the server");
+            CompletableFuture<List<Movie>> newer = movieAPI.fetchMoviesAsync("fre", null, null, null);
+
+            assertTrue(older.isCancelled(), "The superseded query should be cancelled");
+            assertThrows(CancellationException.class, () -> older.get(5, TimeUnit.SECONDS));
+            assertEquals("Fresh", newer.get(5, TimeUnit.SECONDS).get(0).getTitle());
+        } finally {
+            releaseOlder.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test fetchMoviesAsync - identical concurrent queries share one HTTP call")
+    void fetchMoviesAsync_sameQuery_sharesHttpCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]");
+            }
+        });
+
+        CompletableFuture<List<Movie>> first = movieAPI.fetchMoviesAsync("incep", null, null, null);
+        CompletableFuture<List<Movie>> second = movieAPI.fetchMoviesAsync("incep", null, null, null);
+        release.countDown();
+
+        assertEquals("Inception", first.get(5, TimeUnit.SECONDS).get(0).getTitle());
+        assertEquals("Inception", second.get(5, TimeUnit.SECONDS).get(0).getTitle());
+        assertEquals(1, mockWebServer.getRequestCount(), "The repeated query must not cancel the shared call");
+    }
+
+    @Test
+    @DisplayName("Test fetchMoviesAsync - a cancelled caller does not cancel the call shared with another caller")
+    void fetchMoviesAsync_oneCallerCancels_otherCallerGetsResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]");
+            }
+        });
+
+        CompletableFuture<List<Movie>> first = movieAPI.fetchMoviesAsync("incep", null, null, null);
+        CompletableFuture<List<Movie>> second = movieAPI.fetchMoviesAsync("incep", null, null, null);
+        first.cancel(true);
+        release.countDown();
+
+        assertTrue(first.isCancelled());
+        assertEquals("Inception", second.get(5, TimeUnit.SECONDS).get(0).getTitle());
+    }
 }
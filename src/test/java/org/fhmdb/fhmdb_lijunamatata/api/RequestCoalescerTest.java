@@ -0,0 +1,289 @@
+package org.fhmdb.fhmdb_lijunamatata.api;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers with the same key share one execution")
+    void execute_sameKeyConcurrently_executesOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Movie> result = List.of(new Movie());
+
+        RequestCoalescer.MovieRequest slowRequest = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            awaitLatch(release);
+            return result;
+        };
+
+        Future<List<Movie>> first = executor.submit(() -> coalescer.execute("key", slowRequest));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<Movie>> second = executor.submit(() -> coalescer.execute("key", slowRequest));
+
+        // wait until the second caller is parked on the in-flight request
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(result, first.get(5, TimeUnit.SECONDS));
+        assertSame(result, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescer.getExecutedCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Sequential callers are not coalesced")
+    void execute_sequentially_executesEachTime() throws MovieApiException {
+        coalescer.execute("key", List::of);
+        coalescer.execute("key", List::of);
+
+        assertEquals(2, coalescer.getExecutedCount());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Failure of the shared request is propagated to the waiting caller")
+    void execute_sharedFailure_propagatesToFollower() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RequestCoalescer.MovieRequest failingRequest = () -> {
+            started.countDown();
+            awaitLatch(release);
+            throw new MovieApiException("Error fetching movies: HTTP 503");
+        };
+
+        Future<List<Movie>> first = executor.submit(() -> coalescer.execute("key", failingRequest));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<Movie>> second = executor.submit(() -> coalescer.execute("key", failingRequest));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MovieApiException.class, leaderFailure.getCause());
+        assertInstanceOf(MovieApiException.class, followerFailure.getCause());
+        assertTrue(followerFailure.getCause().getMessage().contains("503"));
+    }
+
+    @Test
+    @DisplayName("An error of the shared request releases the waiting caller")
+    void execute_sharedError_releasesFollower() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RequestCoalescer.MovieRequest crashingRequest = () -> {
+            started.countDown();
+            awaitLatch(release);
+            throw new AssertionError("request crashed");
+        };
+
+        Future<List<Movie>> first = executor.submit(() -> coalescer.execute("key", crashingRequest));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<Movie>> second = executor.submit(() -> coalescer.execute("key", crashingRequest));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+        assertInstanceOf(AssertionError.class, followerFailure.getCause());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("A waiting caller can be interrupted")
+    void execute_followerInterrupted_stopsWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RequestCoalescer.MovieRequest slowRequest = () -> {
+            started.countDown();
+            awaitLatch(release);
+            return List.of();
+        };
+
+        Future<List<Movie>> first = executor.submit(() -> coalescer.execute("key", slowRequest));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<Movie>> second = executor.submit(() -> coalescer.execute("key", slowRequest));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        // interrupts the waiting follower only, the leader keeps running
+        second.cancel(true);
+        release.countDown();
+
+        assertEquals(List.of(), first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Asynchronous callers with the same key share one request and get their own lists")
+    void executeAsync_sameKey_startsOnce() throws Exception {
+        CompletableFuture<List<Movie>> request = new CompletableFuture<>();
+        AtomicInteger starts = new AtomicInteger();
+        RequestCoalescer.AsyncMovieRequest asyncRequest = () -> {
+            starts.incrementAndGet();
+            return request;
+        };
+
+        CompletableFuture<List<Movie>> first = coalescer.executeAsync("key", asyncRequest);
+        CompletableFuture<List<Movie>> second = coalescer.executeAsync("key", asyncRequest);
+        request.complete(List.of(new Movie()));
+
+        assertEquals(1, starts.get());
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).size());
+        assertNotSame(first.get(), second.get(), "Every caller should get its own list");
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Cancelling one of several asynchronous callers keeps the shared request running")
+    void executeAsync_oneCallerCancels_requestKeepsRunning() throws Exception {
+        CompletableFuture<List<Movie>> request = new CompletableFuture<>();
+
+        CompletableFuture<List<Movie>> first = coalescer.executeAsync("key", () -> request);
+        CompletableFuture<List<Movie>> second = coalescer.executeAsync("key", () -> request);
+        first.cancel(true);
+
+        assertFalse(request.isCancelled());
+        request.complete(List.of());
+        assertTrue(first.isCancelled());
+        assertEquals(List.of(), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("The shared request is cancelled once no caller waits for it anymore")
+    void executeAsync_allCallersCancel_cancelsRequest() {
+        CompletableFuture<List<Movie>> request = new CompletableFuture<>();
+
+        CompletableFuture<List<Movie>> first = coalescer.executeAsync("key", () -> request);
+        CompletableFuture<List<Movie>> second = coalescer.executeAsync("key", () -> request);
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(request.isCancelled());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("A blocking caller joins an asynchronous request with the same key")
+    void execute_asyncRequestInFlight_joinsIt() throws Exception {
+        CompletableFuture<List<Movie>> request = new CompletableFuture<>();
+        List<Movie> result = List.of(new Movie());
+        CompletableFuture<List<Movie>> asyncCaller = coalescer.executeAsync("key", () -> request);
+
+        Future<List<Movie>> blockingCaller = executor.submit(() -> coalescer.execute("key", () -> {
+            throw new MovieApiException("should not be executed");
+        }));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        // the blocking caller still waits, so the request must not be cancelled
+        asyncCaller.cancel(true);
+        assertFalse(request.isCancelled());
+        request.complete(result);
+
+        assertSame(result, blockingCaller.get(5, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.getExecutedCount());
+    }
+
+    @Test
+    @DisplayName("MovieAPI sends one HTTP request for identical concurrent queries")
+    void fetchMovies_identicalConcurrentQueries_singleHttpCall() throws Exception {
+        MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        try {
+            // the server holds the first request until the second caller is waiting for it
+            CountDownLatch received = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            mockWebServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                    received.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new MockResponse()
+                            .setResponseCode(200)
+                            .setBody("[{\"id\": \"1\", \"title\": \"Inception\", \"genres\": [], \"rating\": 8.8}]")
+                            .addHeader("Content-Type", "application/json");
+                }
+            });
+
+            MovieAPI movieAPI = new MovieAPI(null) {
+                @Override
+                protected String getBaseUrl() {
+                    return mockWebServer.url("/movies").toString();
+                }
+            };
+            long coalescedBefore = MovieAPI.getRequestCoalescer().getCoalescedCount();
+
+            Future<List<Movie>> first = executor.submit(() -> movieAPI.fetchMovies("incep", Genre.ACTION, 2010, 8.0));
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            Future<List<Movie>> second = executor.submit(() -> movieAPI.fetchMovies("incep", Genre.ACTION, 2010, 8.0));
+            while (MovieAPI.getRequestCoalescer().getCoalescedCount() == coalescedBefore) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            List<Movie> firstMovies = first.get(5, TimeUnit.SECONDS);
+            List<Movie> secondMovies = second.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, mockWebServer.getRequestCount());
+            assertEquals(1, MovieAPI.getRequestCoalescer().getCoalescedCount() - coalescedBefore);
+            assertEquals("Inception", secondMovies.get(0).getTitle());
+            assertNotSame(firstMovies, secondMovies, "Every caller should get its own list");
+        } finally {
+            mockWebServer.shutdown();
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
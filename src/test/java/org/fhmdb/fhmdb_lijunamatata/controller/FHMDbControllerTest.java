@@ -1,12 +1,16 @@
 package org.fhmdb.fhmdb_lijunamatata.controller;
 
 import javafx.application.Platform;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.MovieApiException;
 import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
 import org.fhmdb.fhmdb_lijunamatata.repositories.WatchlistRepository;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieLoader;
 import org.fhmdb.fhmdb_lijunamatata.services.MovieService;
 import org.fhmdb.fhmdb_lijunamatata.state.SortContext;
 import org.fhmdb.fhmdb_lijunamatata.utils.ClickEventHandler;
@@ -17,9 +21,14 @@ import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -36,10 +45,13 @@ public class FHMDbControllerTest {
 
 
 
+    // false without a display, tests waiting for the JavaFX application thread are skipped then
+    private static boolean fxAvailable;
+
     // Initialize JavaFX toolkit for JavaFX-based code to work in tests
     @BeforeAll
     public static void setupFx() {
-        JavaFxToolkitInitializer.initialize();
+        fxAvailable = JavaFxToolkitInitializer.initialize();
     }
 
 
@@ -137,29 +149,59 @@ public class FHMDbControllerTest {
     }
 
     @Test
-    @DisplayName("filterMovies should call movieService.fetchFilteredMovies and handle API response")
-    public void filterMovies_calls_movieServiceFilterMovies() throws MovieApiException {
+    @DisplayName("filterMovies should call movieService.fetchFilteredMoviesAsync and handle API response")
+    public void filterMovies_calls_movieServiceFilterMovies() {
+        assumeTrue(fxAvailable, "the result is published on the JavaFX application thread");
         List<Movie> mockMovies = List.of(
                 new Movie("1", "Test Movie", List.of(Genre.ACTION), 2023, "", "", 120, List.of(), List.of(), List.of(), 8.0)
         );
-        when(movieService.fetchFilteredMovies(any(), any(), any(), any())).thenReturn(mockMovies);
+        when(movieService.fetchFilteredMoviesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mockMovies));
 
         movieController.filterMovies();
 
-        verify(movieService).fetchFilteredMovies(any(), any(), any(), any());
-        verify(movieController).updateMovieListView(eq(""), eq(""), eq(0), eq(0.0));
+        verify(movieService).fetchFilteredMoviesAsync(any(), any(), any(), any());
+        // the result is published on the JavaFX application thread
+        verify(movieController, timeout(2000)).updateMovieListView(eq(""), eq(""), eq(0), eq(0.0));
     }
 
     @Test
     @DisplayName("filterMovies falls back to local filtering when API call fails")
-    public void filterMovies_fallsBackToLocalFiltering() throws MovieApiException {
-        when(movieService.fetchFilteredMovies(any(), any(), any(), any())).thenThrow(new MovieApiException("API Error"));
+    public void filterMovies_fallsBackToLocalFiltering() {
+        when(movieService.fetchFilteredMoviesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new MovieApiException("API Error")));
         when(movieService.filterMovies(any(), any(), any(), any(), any())).thenReturn(initialMovies);
 
         movieController.filterMovies();
 
-        verify(movieService).fetchFilteredMovies(any(), any(), any(), any());
-        verify(movieService).filterMovies(any(), any(), any(), any(), any());
+        verify(movieService).fetchFilteredMoviesAsync(any(), any(), any(), any());
+        verify(movieService, timeout(2000)).filterMovies(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("filterMovies ignores results of queries that were superseded")
+    public void filterMovies_ignoresCancelledQueries() {
+        when(movieService.fetchFilteredMoviesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new CancellationException("superseded")));
+
+        movieController.filterMovies();
+
+        verify(movieController, after(500).never()).updateMovieListView(any(), any(), anyInt(), anyDouble());
+        verify(movieService, never()).filterMovies(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("shutdownScheduler cancels a running filter request")
+    public void shutdownScheduler_cancelsFilterRequest() {
+        CompletableFuture<List<Movie>> pending = new CompletableFuture<>();
+        when(movieService.fetchFilteredMoviesAsync(any(), any(), any(), any())).thenReturn(pending);
+
+        movieController.filterMovies();
+        movieController.shutdownScheduler();
+
+        Assertions.assertTrue(pending.isCancelled());
+        verify(movieController, after(500).never()).updateMovieListView(any(), any(), anyInt(), anyDouble());
+        verify(movieService, never()).filterMovies(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -179,6 +221,64 @@ public class FHMDbControllerTest {
         verify(watchlistRepository).addToWatchlist(argThat(entity -> entity.getApiId().equals(dummyMovie.getId())));
     }
 
+    @Test
+    @DisplayName("Adding to the watchlist is not held up by loading the movies")
+    public void onAddToWatchlistClicked_whileLoading_isNotBlocked() throws Exception {
+        assumeTrue(fxAvailable, "the load task reports its state on the JavaFX application thread");
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        MovieLoader blockingLoader = mock(MovieLoader.class);
+        when(blockingLoader.load(any(), any())).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await();
+            return initialMovies;
+        });
+        doReturn(blockingLoader).when(movieController).createMovieLoader();
+        doNothing().when(watchlistRepository).addToWatchlist(any());
+        // the real click handler instead of the one injected in setUp
+        movieController.initializeClickHandlers();
+        Field field = FHMDbController.class.getDeclaredField("onAddToWatchlistClicked");
+        field.setAccessible(true);
+        ClickEventHandler<Movie> handler = (ClickEventHandler<Movie>) field.get(movieController);
+
+        try {
+            movieController.loadMovies();
+            Assertions.assertTrue(loadStarted.await(2, TimeUnit.SECONDS));
+
+            handler.onClick(initialMovies.get(0));
+
+            verify(watchlistRepository, timeout(2000)).addToWatchlist(
+                    argThat(entity -> entity.getApiId().equals(initialMovies.get(0).getId())));
+        } finally {
+            releaseLoad.countDown();
+            movieController.shutdownScheduler();
+        }
+    }
+
+    @Test
+    @DisplayName("Opening the movie view again only reloads the movies and does not add the listeners again")
+    public void initialize_calledTwice_setsUpListenersOnce() throws Exception {
+        assumeTrue(fxAvailable, "JavaFX controls need a display");
+        movieController.searchField = new TextField();
+        movieController.genreComboBox = new ComboBox<>();
+        movieController.releaseYearComboBox = new ComboBox<>();
+        movieController.ratingComboBox = new ComboBox<>();
+        Field listView = FHMDbController.class.getDeclaredField("movieListView");
+        listView.setAccessible(true);
+        listView.set(movieController, new ListView<Movie>());
+        doNothing().when(movieController).loadMovies();
+
+        try {
+            movieController.initialize();
+            movieController.initialize();
+
+            verify(movieController, times(1)).initializeClickHandlers();
+            verify(movieController, times(2)).loadMovies();
+        } finally {
+            movieController.shutdownScheduler();
+        }
+    }
+
     @Test
     @DisplayName("onWatchlistChanged updates status label correctly")
     void onWatchlistChanged_updatesStatusLabel() {
@@ -5,6 +5,7 @@ import javafx.scene.control.ListView;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.models.Genre;
 import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistChange;
 import org.fhmdb.fhmdb_lijunamatata.repositories.WatchlistRepository;
 import org.fhmdb.fhmdb_lijunamatata.utils.ClickEventHandler;
 import org.fhmdb.fhmdb_lijunamatata.utils.JavaFxToolkitInitializer;
@@ -14,9 +15,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -31,13 +38,16 @@ public class WatchlistControllerTest {
     private WatchlistController watchlistController;
     private List<Movie> initialWatchlistMovies;
 
+    // false without a display, all tests are skipped then
+    private static boolean fxAvailable;
+
     /**
      * Initializes the JavaFX toolkit (only once for all tests).
      * Needed to construct JavaFX UI components in tests.
      */
     @BeforeAll
     public static void setupFx() {
-        JavaFxToolkitInitializer.initialize();
+        fxAvailable = JavaFxToolkitInitializer.initialize();
     }
 
 
@@ -51,6 +61,8 @@ public class WatchlistControllerTest {
      */
     @BeforeEach
     public void setUp() throws Exception {
+        // constructing the ListView blocks forever if the toolkit could not be started
+        assumeTrue(fxAvailable, "JavaFX toolkit needs a display");
         initialWatchlistMovies = Movie.initializeMoviesTestbase();
         watchlistRepository = spy(WatchlistRepository.getInstance());
         watchlistController = spy(new WatchlistController(watchlistRepository));
@@ -88,7 +100,7 @@ public class WatchlistControllerTest {
      * Simulates clicking the remove-from-watchlist button for a movie,
      * and verifies that:
      * - The movie is removed from the repository,
-     * - The watchlist is refreshed,
+     * - The watchlist is not reloaded (the change notification patches it),
      * - A popup message is shown.
      */
     @Test
@@ -107,7 +119,7 @@ public class WatchlistControllerTest {
 
         // Verify expected side effects
         verify(watchlistRepository).removeFromWatchlist(dummyEntity.getApiId());
-        verify(watchlistController).refreshWatchlist();
+        verify(watchlistController, never()).refreshWatchlist();
         verify(watchlistController).showPopup(eq("Watchlist"), contains("removed"));
     }
 
@@ -128,4 +140,53 @@ public class WatchlistControllerTest {
         // Verify updated status
         verify(watchlistController).updateStatusLabel("Watchlist updated: 1 movies", false);
     }
+
+    /**
+     * Applies a delta and verifies that only the affected movies change,
+     * without loading the full watchlist.
+     */
+    @Test
+    @DisplayName("onWatchlistChanged with a delta patches the shown movies")
+    public void onWatchlistChanged_delta_patches_movies() throws Exception {
+        Movie removed = initialWatchlistMovies.get(0);
+        Movie added = new Movie("id-new", "New Movie", List.of(), 2022, "", "", 100, List.of(), List.of(), List.of(), 4.0);
+        WatchlistChange change = new WatchlistChange(Map.of(added.getId(), added), Map.of(removed.getId(), removed),
+                initialWatchlistMovies.size(), false, () -> {
+                    throw new AssertionError("the full watchlist should not be loaded");
+                });
+
+        watchlistController.onWatchlistChanged(change);
+
+        Field field = WatchlistController.class.getDeclaredField("watchlistMovies");
+        field.setAccessible(true);
+        List<Movie> shown = (List<Movie>) field.get(watchlistController);
+        assertFalse(shown.contains(removed));
+        assertTrue(shown.contains(added));
+        verify(watchlistController).updateStatusLabel("Watchlist updated: " + initialWatchlistMovies.size() + " movies", false);
+    }
+
+    /**
+     * Removes movies one after another and verifies that the positions of the moved movies are kept up to date.
+     */
+    @Test
+    @DisplayName("onWatchlistChanged removes movies by their position")
+    public void onWatchlistChanged_delta_removesByPosition() throws Exception {
+        watchlistController.setWatchlistMovies(new ArrayList<>(initialWatchlistMovies));
+        Movie first = initialWatchlistMovies.get(0);
+        Movie last = initialWatchlistMovies.get(initialWatchlistMovies.size() - 1);
+
+        watchlistController.onWatchlistChanged(new WatchlistChange(Map.of(), Map.of(first.getId(), first),
+                initialWatchlistMovies.size() - 1, false, List::of));
+        // the last movie has taken the place of the first one, removing it has to find it there
+        watchlistController.onWatchlistChanged(new WatchlistChange(Map.of(), Map.of(last.getId(), last),
+                initialWatchlistMovies.size() - 2, false, List::of));
+
+        Field field = WatchlistController.class.getDeclaredField("watchlistMovies");
+        field.setAccessible(true);
+        List<Movie> shown = (List<Movie>) field.get(watchlistController);
+        assertEquals(initialWatchlistMovies.size() - 2, shown.size());
+        assertFalse(shown.contains(first));
+        assertFalse(shown.contains(last));
+        assertTrue(shown.containsAll(initialWatchlistMovies.subList(1, initialWatchlistMovies.size() - 1)));
+    }
 }
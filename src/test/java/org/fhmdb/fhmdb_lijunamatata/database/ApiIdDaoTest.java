@@ -0,0 +1,145 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the lookups and upserts by API ID of MovieDao and WatchlistDao.
+ */
+public class ApiIdDaoTest {
+
+    private JdbcConnectionSource connectionSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionSource.close();
+    }
+
+    private MovieDao migratedMovieDao() throws DatabaseException, SQLException {
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+        return DaoManager.createDao(connectionSource, MovieEntity.class);
+    }
+
+    private static MovieEntity movie(String apiId, String title) {
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId(apiId);
+        movie.setTitle(title);
+        return movie;
+    }
+
+    @Test
+    @DisplayName("ORMLite creates the custom DAO classes")
+    void createDao_returnsCustomDaos() throws DatabaseException, SQLException {
+        assertInstanceOf(MovieDao.class, migratedMovieDao());
+        assertInstanceOf(WatchlistDao.class, DaoManager.createDao(connectionSource, WatchlistMovieEntity.class));
+    }
+
+    @Test
+    @DisplayName("lookup, exists and delete by API ID")
+    void queryExistsDelete_byApiId() throws DatabaseException, SQLException {
+        MovieDao movieDao = migratedMovieDao();
+        movieDao.create(movie("api1", "Movie 1"));
+        movieDao.create(movie("api2", "Movie 2"));
+
+        assertEquals("Movie 2", movieDao.queryForApiId("api2").getTitle());
+        assertNull(movieDao.queryForApiId("unknown"));
+        assertTrue(movieDao.existsByApiId("api1"));
+
+        assertEquals(1, movieDao.deleteByApiId("api1"));
+        assertFalse(movieDao.existsByApiId("api1"));
+        assertEquals(0, movieDao.deleteByApiId("api1"));
+    }
+
+    @Test
+    @DisplayName("the unique index rejects a second row with the same API ID")
+    void create_duplicateApiId_isRejected() throws DatabaseException, SQLException {
+        MovieDao movieDao = migratedMovieDao();
+        movieDao.create(movie("api1", "Movie 1"));
+
+        assertThrows(SQLException.class, () -> movieDao.create(movie("api1", "Movie 1 again")));
+    }
+
+    @Test
+    @DisplayName("upsert inserts new API IDs, updates existing ones and sets the ids")
+    void upsertAll_insertsAndUpdates() throws DatabaseException, SQLException {
+        MovieDao movieDao = migratedMovieDao();
+        MovieEntity existing = movie("api1", "Movie 1");
+        movieDao.create(existing);
+
+        List<MovieEntity> movies = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            movies.add(movie("api" + i, "Updated " + i));
+        }
+        movieDao.upsertAllByApiId(movies, 3);
+
+        assertEquals(7, movieDao.countOf());
+        assertEquals(existing.getId(), movies.get(1).getId(), "the existing row should be updated, not copied");
+        assertEquals("Updated 1", movieDao.queryForId(existing.getId()).getTitle());
+        for (MovieEntity movie : movies) {
+            assertEquals(movie.getApiId(), movieDao.queryForId(movie.getId()).getApiId());
+        }
+    }
+
+    @Test
+    @DisplayName("the migration removes duplicate API IDs before adding the index")
+    void migration_removesDuplicates() throws DatabaseException, SQLException {
+        // schema of version 1 before the index existed
+        MovieDao movieDao = DaoManager.createDao(connectionSource, MovieEntity.class);
+        movieDao.executeRaw("CREATE TABLE `movie` (`id` BIGINT AUTO_INCREMENT PRIMARY KEY, `apiId` VARCHAR, "
+                + "`title` VARCHAR, `description` VARCHAR, `genres` VARCHAR, `releaseYear` INTEGER, `imgUrl` VARCHAR, "
+                + "`lengthInMinutes` INTEGER, `rating` DOUBLE PRECISION)");
+        movieDao.executeRaw("CREATE TABLE `watchlist` (`id` BIGINT AUTO_INCREMENT PRIMARY KEY, `apiId` VARCHAR)");
+        movieDao.executeRaw("CREATE TABLE `schema_version` (`version` INTEGER PRIMARY KEY, `description` VARCHAR, "
+                + "`appliedOn` BIGINT)");
+        movieDao.executeRaw("INSERT INTO `schema_version` VALUES (1, 'Create movie and watchlist tables', 0)");
+        movieDao.create(movie("api1", "first"));
+        movieDao.create(movie("api1", "duplicate"));
+        movieDao.create(movie("api2", "other"));
+
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+
+        assertEquals(2, movieDao.countOf());
+        assertEquals("first", movieDao.queryForApiId("api1").getTitle());
+        assertThrows(SQLException.class, () -> movieDao.create(movie("api2", "duplicate")));
+    }
+
+    @Test
+    @DisplayName("bulk lookup and delete by API IDs in batches")
+    void queryAndDeleteAll_byApiIds() throws DatabaseException, SQLException {
+        MovieDao movieDao = migratedMovieDao();
+        List<MovieEntity> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(movie("api" + i, "Movie " + i));
+        }
+        movieDao.upsertAllByApiId(movies, 4);
+
+        List<String> found = new ArrayList<>();
+        for (MovieEntity movie : movieDao.queryForApiIds(List.of("api1", "api5", "api9", "unknown"), 2)) {
+            found.add(movie.getApiId());
+        }
+        found.sort(null);
+        assertEquals(List.of("api1", "api5", "api9"), found);
+
+        assertEquals(3, movieDao.deleteAllByApiId(List.of("api0", "api2", "api4", "unknown"), 3));
+        assertEquals(7, movieDao.countOf());
+        assertFalse(movieDao.existsByApiId("api2"));
+        assertEquals(0, movieDao.deleteAllByApiId(List.of(), 3));
+    }
+}
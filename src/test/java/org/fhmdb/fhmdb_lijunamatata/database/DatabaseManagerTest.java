@@ -1,12 +1,18 @@
 package org.fhmdb.fhmdb_lijunamatata.database;
 
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +34,132 @@ public class DatabaseManagerTest {
             ConnectionSource source = DatabaseManager.getConnectionSource();
             assertNotNull(source, "ConnectionSource should not be null after initialization");
         }
+
+        @Test
+        @DisplayName("createConnectionSource keeps the existing pool")
+        void test_createConnectionSource_calledTwice_keepsPool() throws SQLException, DatabaseException {
+            DatabaseManager.createConnectionSource();
+            ConnectionSource first = DatabaseManager.getConnectionSource();
+            DatabaseManager.createConnectionSource();
+            assertSame(first, DatabaseManager.getConnectionSource());
+        }
+
+        @Test
+        @DisplayName("the pool is configured from system properties")
+        void test_createPooledConnectionSource_usesSystemProperties() throws Exception {
+            System.setProperty(DatabaseManager.POOL_SIZE_PROPERTY, "2");
+            System.setProperty(DatabaseManager.POOL_MAX_WAIT_PROPERTY, "100");
+            System.setProperty(DatabaseManager.POOL_CHECK_INTERVAL_PROPERTY, "0");
+            try (JdbcPooledConnectionSource pool = DatabaseManager.createPooledConnectionSource(
+                    "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")) {
+                DatabaseConnection first = pool.getReadWriteConnection(null);
+                DatabaseConnection second = pool.getReadWriteConnection(null);
+
+                assertThrows(SQLException.class, () -> pool.getReadWriteConnection(null),
+                        "No more than pool size connections should be handed out");
+
+                pool.releaseConnection(first);
+                DatabaseConnection third = pool.getReadWriteConnection(null);
+                pool.releaseConnection(second);
+                pool.releaseConnection(third);
+                assertEquals(2, pool.getMaxConnectionsEverUsed());
+                assertEquals(2, pool.getCurrentConnectionsFree());
+            } finally {
+                System.clearProperty(DatabaseManager.POOL_SIZE_PROPERTY);
+                System.clearProperty(DatabaseManager.POOL_MAX_WAIT_PROPERTY);
+                System.clearProperty(DatabaseManager.POOL_CHECK_INTERVAL_PROPERTY);
+            }
+        }
+
+        @Test
+        @DisplayName("a caller waits for a connection once the pool size is reached")
+        void test_boundedPool_moreThreadsThanConnections_neverExceedsPoolSize() throws Exception {
+            int poolSize = 2;
+            int threads = 6;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try (BoundedPooledConnectionSource pool = new BoundedPooledConnectionSource(poolSize, 10_000)) {
+                pool.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+                pool.setCheckConnectionsEveryMillis(0);
+                pool.initialize();
+                AtomicInteger inUse = new AtomicInteger();
+                AtomicInteger maxInUse = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        DatabaseConnection connection = pool.getReadWriteConnection(null);
+                        try {
+                            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                            Thread.sleep(50); // hold it, so the other threads have to wait
+                            inUse.decrementAndGet();
+                        } finally {
+                            pool.releaseConnection(connection);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                assertEquals(poolSize, maxInUse.get());
+                assertEquals(poolSize, pool.getMaxConnectionsEverUsed());
+                assertEquals(0, pool.getConnectionsInUse());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("DAO calls inside a transaction reuse its connection instead of waiting for another one")
+        void test_boundedPool_transaction_doesNotWaitForItself() throws Exception {
+            try (BoundedPooledConnectionSource pool = new BoundedPooledConnectionSource(1, 100)) {
+                pool.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+                pool.setCheckConnectionsEveryMillis(0);
+                pool.initialize();
+
+                long result = TransactionManager.callInTransaction(pool, () -> {
+                    DatabaseConnection nested = pool.getReadOnlyConnection(null);
+                    try {
+                        return nested.queryForLong("SELECT 1");
+                    } finally {
+                        pool.releaseConnection(nested);
+                    }
+                });
+
+                assertEquals(1, result);
+                assertEquals(0, pool.getConnectionsInUse());
+            }
+        }
+
+        @Test
+        @DisplayName("concurrent threads get their own connections")
+        void test_pooledConnectionSource_concurrentThreads_distinctConnections() throws Exception {
+            DatabaseManager.createConnectionSource();
+            ConnectionSource source = DatabaseManager.getConnectionSource();
+            CyclicBarrier allBorrowed = new CyclicBarrier(4);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<DatabaseConnection>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(executor.submit(() -> {
+                        DatabaseConnection connection = source.getReadOnlyConnection("movie");
+                        try {
+                            allBorrowed.await(5, TimeUnit.SECONDS); // hold it until every thread has one
+                            return connection;
+                        } finally {
+                            source.releaseConnection(connection);
+                        }
+                    }));
+                }
+                Set<DatabaseConnection> connections = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (Future<DatabaseConnection> future : futures) {
+                    connections.add(future.get(10, TimeUnit.SECONDS));
+                }
+                assertEquals(4, connections.size());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
     }
 
     @Nested
@@ -0,0 +1,129 @@
+package org.fhmdb.fhmdb_lijunamatata.database;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigratorTest {
+
+    private JdbcConnectionSource connectionSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // a fresh in-memory database per test
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionSource.close();
+    }
+
+    @Test
+    @DisplayName("migrations are applied once, in version order")
+    void migrate_appliesMissingMigrationsInOrder() throws DatabaseException {
+        List<Integer> appliedOrder = new ArrayList<>();
+        List<SchemaMigration> migrations = List.of(
+                new SchemaMigration(2, "second", source -> appliedOrder.add(2)),
+                new SchemaMigration(1, "first", source -> appliedOrder.add(1)));
+        SchemaMigrator migrator = new SchemaMigrator(connectionSource, migrations);
+
+        assertEquals(0, migrator.getCurrentVersion());
+        assertEquals(2, migrator.migrate());
+        assertEquals(0, migrator.migrate(), "a second run should not apply anything");
+
+        assertEquals(List.of(1, 2), appliedOrder);
+        assertEquals(2, migrator.getCurrentVersion());
+    }
+
+    @Test
+    @DisplayName("only migrations above the current version are applied")
+    void migrate_newMigration_isAppliedOnTopOfExistingSchema() throws DatabaseException {
+        List<String> applied = new ArrayList<>();
+        SchemaMigration first = new SchemaMigration(1, "first", source -> applied.add("first"));
+        new SchemaMigrator(connectionSource, List.of(first)).migrate();
+
+        SchemaMigration second = new SchemaMigration(2, "second", source -> applied.add("second"));
+        assertEquals(1, new SchemaMigrator(connectionSource, List.of(first, second)).migrate());
+        assertEquals(List.of("first", "second"), applied);
+    }
+
+    @Test
+    @DisplayName("the production migrations keep existing rows")
+    void migrate_productionMigrations_keepData() throws DatabaseException, SQLException {
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+        Dao<WatchlistMovieEntity, Long> watchlistDao = DaoManager.createDao(connectionSource, WatchlistMovieEntity.class);
+        watchlistDao.create(new WatchlistMovieEntity("api1"));
+
+        // a restart runs the migrator again
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+
+        assertEquals(1, watchlistDao.countOf());
+    }
+
+    @Test
+    @DisplayName("upgrading a database with movies but no people schedules the people backfill once")
+    void migrate_moviesWithoutPeople_schedulesPeopleBackfill() throws DatabaseException, SQLException {
+        // the schema before the pending_backfill table, with a movie stored without people
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS.subList(0, 4)).migrate();
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("api1");
+        movie.setTitle("Inception");
+        DaoManager.createDao(connectionSource, MovieEntity.class).create(movie);
+
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+
+        Dao<PendingBackfillEntity, String> backfills = DaoManager.createDao(connectionSource, PendingBackfillEntity.class);
+        assertTrue(backfills.idExists(PendingBackfillEntity.MOVIE_PEOPLE));
+
+        // once done, a restart does not schedule it again
+        backfills.deleteById(PendingBackfillEntity.MOVIE_PEOPLE);
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+        assertFalse(backfills.idExists(PendingBackfillEntity.MOVIE_PEOPLE));
+    }
+
+    @Test
+    @DisplayName("a new database needs no people backfill")
+    void migrate_newDatabase_schedulesNoBackfill() throws DatabaseException, SQLException {
+        new SchemaMigrator(connectionSource, DatabaseManager.MIGRATIONS).migrate();
+
+        Dao<PendingBackfillEntity, String> backfills = DaoManager.createDao(connectionSource, PendingBackfillEntity.class);
+        assertEquals(0, backfills.countOf());
+    }
+
+    @Test
+    @DisplayName("a failing migration is not recorded")
+    void migrate_failingMigration_isNotRecorded() throws DatabaseException {
+        SchemaMigration failing = new SchemaMigration(1, "failing", source -> {
+            TableUtils.createTable(source, WatchlistMovieEntity.class);
+            source.getReadWriteConnection("watchlist").executeStatement("INSERT INTO missing_table VALUES (1)", 0);
+        });
+        SchemaMigrator migrator = new SchemaMigrator(connectionSource, List.of(failing));
+
+        DatabaseException exception = assertThrows(DatabaseException.class, migrator::migrate);
+        assertTrue(exception.getMessage().contains("failing"));
+        assertEquals(0, migrator.getCurrentVersion());
+    }
+
+    @Test
+    @DisplayName("duplicate versions are rejected")
+    void constructor_duplicateVersions_throws() {
+        List<SchemaMigration> migrations = List.of(
+                new SchemaMigration(1, "first", source -> { }),
+                new SchemaMigration(1, "again", source -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new SchemaMigrator(connectionSource, migrations));
+    }
+}
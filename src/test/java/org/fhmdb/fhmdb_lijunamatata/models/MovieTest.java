@@ -106,4 +106,18 @@ public class MovieTest {
         newListOfMovies.sort(Comparator.comparing(Movie::getTitle).reversed());
         Assertions.assertFalse(this.movies.equals(newListOfMovies));
     }
+
+    @Test
+    @DisplayName("Test genres text: joined once and rebuilt when the genres are replaced")
+    public void testGenresText_cachedUntilGenresReplaced() {
+        Movie first = this.movies.get(0);
+        String text = first.getGenresText();
+
+        assertEquals("DRAMA, ROMANCE", text);
+        Assertions.assertSame(text, first.getGenresText());
+
+        first.setGenres(List.of(Genre.COMEDY));
+        assertEquals("COMEDY", first.getGenresText());
+        assertEquals("", this.movie.getGenresText());
+    }
 }
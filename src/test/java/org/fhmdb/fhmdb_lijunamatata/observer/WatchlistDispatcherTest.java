@@ -0,0 +1,149 @@
+package org.fhmdb.fhmdb_lijunamatata.observer;
+
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WatchlistDispatcherTest {
+
+    private WatchlistDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private static WatchlistChange added(String apiId, int size) {
+        return new WatchlistChange(Map.of(apiId, new Movie()), Map.of(), size, false, List::of);
+    }
+
+    private static WatchlistChange removed(String apiId, int size) {
+        return new WatchlistChange(Map.of(), Map.of(apiId, new Movie()), size, false, List::of);
+    }
+
+    @Test
+    @DisplayName("Changes within the window are delivered as one change")
+    void publish_withinWindow_deliversOneChange() {
+        dispatcher = new WatchlistDispatcher(10_000);
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        dispatcher.addObserver(new RecordingObserver(changes));
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.publish(added("api" + i, i + 1));
+        }
+        dispatcher.publish(removed("api0", 99));
+        dispatcher.publish(removed("other", 98));
+        dispatcher.flush();
+
+        assertEquals(1, changes.size());
+        WatchlistChange change = changes.get(0);
+        assertEquals(99, change.getAdded().size());
+        assertFalse(change.getAdded().containsKey("api0"), "Added and removed again should cancel out");
+        assertEquals(Set.of("other"), change.getRemoved().keySet());
+        assertEquals(98, change.getSize());
+    }
+
+    @Test
+    @DisplayName("Changes that cancel out are not delivered")
+    void publish_addedAndRemoved_deliversNothing() {
+        dispatcher = new WatchlistDispatcher(10_000);
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        dispatcher.addObserver(new RecordingObserver(changes));
+
+        dispatcher.publish(added("api1", 1));
+        dispatcher.publish(removed("api1", 0));
+        dispatcher.flush();
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A full refresh replaces the pending delta")
+    void publish_fullRefresh_replacesDelta() {
+        dispatcher = new WatchlistDispatcher(10_000);
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        dispatcher.addObserver(new RecordingObserver(changes));
+
+        dispatcher.publish(added("api1", 1));
+        dispatcher.publish(WatchlistChange.fullRefresh(1, List::of));
+        dispatcher.publish(added("api2", 2));
+        dispatcher.flush();
+
+        assertEquals(1, changes.size());
+        assertTrue(changes.get(0).isFullRefresh());
+        assertEquals(2, changes.get(0).getSize());
+    }
+
+    @Test
+    @DisplayName("Changes are delivered after the window on the dispatcher thread")
+    void publish_withoutFlush_deliversOffCallerThread() throws InterruptedException {
+        dispatcher = new WatchlistDispatcher(20);
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicReference<Thread> observerThread = new AtomicReference<>();
+        dispatcher.addObserver(new RecordingObserver(new CopyOnWriteArrayList<>()) {
+            @Override
+            public void onWatchlistChanged(WatchlistChange change) {
+                observerThread.set(Thread.currentThread());
+                delivered.countDown();
+            }
+        });
+
+        dispatcher.publish(added("api1", 1));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), observerThread.get());
+    }
+
+    @Test
+    @DisplayName("Observers can unregister themselves during a dispatch")
+    void removeObserver_duringDispatch_otherObserversNotified() {
+        dispatcher = new WatchlistDispatcher(10_000);
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        dispatcher.addObserver(new RecordingObserver(changes) {
+            @Override
+            public void onWatchlistChanged(WatchlistChange change) {
+                dispatcher.removeObserver(this);
+            }
+        });
+        dispatcher.addObserver(new RecordingObserver(changes));
+
+        dispatcher.publish(added("api1", 1));
+        dispatcher.flush();
+        dispatcher.publish(added("api2", 2));
+        dispatcher.flush();
+
+        assertEquals(2, changes.size());
+    }
+
+    /**
+     * Records the delivered changes.
+     */
+    private static class RecordingObserver implements WatchlistObserver {
+        private final List<WatchlistChange> changes;
+
+        RecordingObserver(List<WatchlistChange> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void onWatchlistChanged(WatchlistChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onWatchlistChanged(List<Movie> updatedWatchlist) {
+            fail("Observers should be notified with the change");
+        }
+    }
+}
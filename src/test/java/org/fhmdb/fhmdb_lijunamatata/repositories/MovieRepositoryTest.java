@@ -1,11 +1,23 @@
 package org.fhmdb.fhmdb_lijunamatata.repositories;
 
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieService;
 import org.junit.jupiter.api.*;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -83,4 +95,288 @@ class MovieRepositoryTest {
         assertNotNull(foundMovie);
         assertEquals("Movie 4", foundMovie.getTitle());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(4)
+    @DisplayName("Batch insert saves every movie and sets the generated IDs")
+    void shouldBatchInsertMoviesAndSetIds() throws DatabaseException {
+        List<MovieEntity> newMovies = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            MovieEntity movie = new MovieEntity();
+            movie.setApiId("batch" + i);
+            movie.setTitle("Batch Movie " + i);
+            movie.setRating(i / 3.0);
+            newMovies.add(movie);
+        }
+
+        movieRepository.addAllMovies(newMovies, 4);
+
+        assertEquals(25, movieRepository.getAllMovies().size());
+        assertEquals(25, newMovies.stream().mapToLong(MovieEntity::getId).filter(id -> id > 0).distinct().count());
+        MovieEntity foundMovie = movieRepository.getMovie(newMovies.get(24).getId());
+        assertEquals("batch24", foundMovie.getApiId());
+        assertEquals(8.0, foundMovie.getRating());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Adding already saved movies updates them instead of inserting duplicates")
+    void shouldUpdateSavedMovies() throws DatabaseException {
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("api5");
+        movie.setTitle("Movie 5");
+        movieRepository.addAllMovies(List.of(movie));
+
+        movie.setTitle("Movie 5 (Director's Cut)");
+        movieRepository.addAllMovies(List.of(movie));
+
+        List<MovieEntity> movies = movieRepository.getAllMovies();
+        assertEquals(1, movies.size());
+        assertEquals("Movie 5 (Director's Cut)", movies.get(0).getTitle());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Batch size must be positive")
+    void shouldRejectInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> movieRepository.addAllMovies(List.of(), 0));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Concurrent batch inserts and reads do not interfere")
+    void shouldSaveAndReadConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                List<MovieEntity> movies = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    MovieEntity movie = new MovieEntity();
+                    movie.setApiId("thread" + thread + "-" + i);
+                    movie.setTitle("Movie " + i);
+                    movies.add(movie);
+                }
+                futures.add(executor.submit(() -> {
+                    movieRepository.addAllMovies(movies, 10);
+                    return movieRepository.getAllMovies();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(200, movieRepository.getAllMovies().size());
+        assertNotNull(movieRepository.getMovieByApiId("thread3-49"));
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Search evaluates text, genre, year and rating in the database")
+    void shouldSearchWithAllCriteria() throws DatabaseException {
+        List<MovieEntity> movies = MovieEntity.fromMovies(Movie.initializeMoviesTestbase());
+        movieRepository.addAllMovies(movies);
+
+        List<String> titles = movieRepository.search("dream", null, null, null, 10).stream()
+                .map(MovieEntity::getTitle).toList();
+        assertEquals(List.of("Inception"), titles);
+
+        for (MovieEntity movie : movieRepository.search(null, Genre.DRAMA, null, 8.7, 100)) {
+            assertTrue(movie.getGenres().contains("DRAMA"));
+            assertTrue(movie.getRating() >= 8.7);
+        }
+        assertEquals(expectedCount(movies, Genre.DRAMA, null, 8.7),
+                movieRepository.search("", Genre.DRAMA, null, 8.7, 100).size());
+        assertEquals(expectedCount(movies, null, 2010, null),
+                movieRepository.search(null, null, 2010, null, 100).size());
+        assertTrue(movieRepository.search("dream", Genre.WESTERN, null, null, 10).isEmpty());
+        assertEquals(2, movieRepository.search(null, null, null, null, 2).size());
+        assertThrows(IllegalArgumentException.class, () -> movieRepository.search(null, null, null, null, 0));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("The full-text index follows updated and removed movies")
+    void shouldKeepFullTextIndexUpToDate() throws DatabaseException {
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("fulltext1");
+        movie.setTitle("Nosferatu");
+        movie.setDescription("A vampire travels to Wisborg.");
+        movieRepository.addAllMovies(List.of(movie));
+        assertEquals(1, movieRepository.search("vampire", null, null, null, 10).size());
+
+        movie.setDescription("A count travels to Wisborg.");
+        movieRepository.addAllMovies(List.of(movie));
+        assertTrue(movieRepository.search("vampire", null, null, null, 10).isEmpty());
+        assertEquals(1, movieRepository.search("count wisborg", null, null, null, 10).size());
+
+        movieRepository.removeAll();
+        assertTrue(movieRepository.search("wisborg", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Directors, writers and main cast survive the round trip through the database")
+    void shouldPersistPeople() throws DatabaseException {
+        List<Movie> movies = Movie.initializeMoviesTestbase();
+        movieRepository.addAllMovies(MovieEntity.fromMovies(movies));
+
+        Map<String, Movie> loaded = new HashMap<>();
+        for (MovieEntity movieEntity : movieRepository.getAllMovies()) {
+            loaded.put(movieEntity.getApiId(), MovieEntity.toMovie(movieEntity));
+        }
+        for (Movie movie : movies) {
+            Movie loadedMovie = loaded.get(movie.getId());
+            assertEquals(movie.getDirectors(), loadedMovie.getDirectors());
+            assertEquals(movie.getWriters(), loadedMovie.getWriters());
+            assertEquals(movie.getMainCast(), loadedMovie.getMainCast());
+        }
+        assertEquals(movies.get(0).getMainCast(),
+                movieRepository.getMovieByApiId(movies.get(0).getId()).getMainCast());
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Actor and director analytics run as SQL aggregates")
+    void shouldAggregatePeopleInDatabase() throws DatabaseException {
+        List<Movie> movies = Movie.initializeMoviesTestbase();
+        movieRepository.addAllMovies(MovieEntity.fromMovies(movies));
+        MovieService movieService = new MovieService(new MovieAPI(null));
+
+        String actor = movieRepository.getMostPopularActor();
+        long expectedAppearances = movies.stream()
+                .filter(movie -> movie.getMainCast().contains(movieService.getMostPopularActor(movies)))
+                .count();
+        assertEquals(expectedAppearances, movies.stream().filter(movie -> movie.getMainCast().contains(actor)).count());
+
+        for (Movie movie : movies) {
+            for (String director : movie.getDirectors()) {
+                assertEquals(movieService.countMoviesFromDirector(movies, director),
+                        movieRepository.countMoviesFromDirector(director));
+                List<MovieEntity> directed = movieRepository.getMoviesFromDirector(director);
+                assertTrue(directed.stream().allMatch(entity -> entity.getDirectors().contains(director)));
+            }
+        }
+        assertEquals(0, movieRepository.countMoviesFromDirector("Unknown Director"));
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Saving a movie again replaces its people and removing it deletes them")
+    void shouldReplaceAndRemovePeople() throws DatabaseException {
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("people1");
+        movie.setTitle("People Movie");
+        movie.setDirectors(List.of("Jane Director"));
+        movie.setMainCast(List.of("First Actor", "Second Actor"));
+        movieRepository.addAllMovies(List.of(movie));
+
+        movie.setDirectors(List.of("John Director"));
+        movie.setMainCast(List.of("Second Actor"));
+        movieRepository.addAllMovies(List.of(movie));
+
+        MovieEntity loaded = movieRepository.getMovieByApiId("people1");
+        assertEquals(List.of("John Director"), loaded.getDirectors());
+        assertEquals(List.of("Second Actor"), loaded.getMainCast());
+        assertEquals(0, movieRepository.countMoviesFromDirector("Jane Director"));
+        assertEquals("Second Actor", movieRepository.getMostPopularActor());
+
+        movieRepository.removeAll();
+        assertNull(movieRepository.getMostPopularActor());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("count and exists do not load the movies")
+    void shouldCountMovies() throws DatabaseException {
+        assertEquals(0, movieRepository.count());
+        assertFalse(movieRepository.exists());
+
+        movieRepository.addAllMovies(MovieEntity.fromMovies(Movie.initializeMoviesTestbase()));
+
+        assertEquals(Movie.initializeMoviesTestbase().size(), movieRepository.count());
+        assertTrue(movieRepository.exists());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Keyset pages return every movie once in id order")
+    void shouldPageThroughMovies() throws DatabaseException {
+        List<MovieEntity> movies = MovieEntity.fromMovies(Movie.initializeMoviesTestbase());
+        movieRepository.addAllMovies(movies);
+
+        List<MovieEntity> paged = new ArrayList<>();
+        long afterId = 0;
+        List<MovieEntity> page;
+        while (!(page = movieRepository.getMoviesAfter(afterId, 3)).isEmpty()) {
+            assertTrue(page.size() <= 3);
+            paged.addAll(page);
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        assertEquals(movies.stream().map(MovieEntity::getId).sorted().toList(),
+                paged.stream().map(MovieEntity::getId).toList());
+        assertEquals(movies.get(0).getDirectors(), paged.get(0).getDirectors());
+        assertThrows(IllegalArgumentException.class, () -> movieRepository.getMoviesAfter(0, 0));
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Streaming returns all movies with their people")
+    void shouldStreamMovies() throws DatabaseException {
+        List<MovieEntity> movies = new ArrayList<>();
+        for (int i = 0; i < MovieRepository.DEFAULT_BATCH_SIZE + 20; i++) {
+            MovieEntity movie = new MovieEntity();
+            movie.setApiId("stream" + i);
+            movie.setTitle("Stream Movie " + i);
+            movie.setMainCast(List.of("Actor " + (i % 7)));
+            movies.add(movie);
+        }
+        movieRepository.addAllMovies(movies);
+
+        List<MovieEntity> streamed;
+        try (Stream<MovieEntity> stream = movieRepository.streamAllMovies()) {
+            streamed = stream.toList();
+        }
+
+        assertEquals(movies.size(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals("stream" + i, streamed.get(i).getApiId());
+            assertEquals(List.of("Actor " + (i % 7)), streamed.get(i).getMainCast());
+        }
+        try (Stream<MovieEntity> stream = movieRepository.streamAllMovies()) {
+            assertEquals("stream0", stream.findFirst().orElseThrow().getApiId());
+        }
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("The underscore of a genre name is not a LIKE wildcard")
+    void shouldSearchGenreLiterally() throws DatabaseException {
+        MovieEntity scienceFiction = new MovieEntity();
+        scienceFiction.setApiId("genre1");
+        scienceFiction.setTitle("Solaris");
+        scienceFiction.setGenres("DRAMA, SCIENCE_FICTION");
+        MovieEntity lookalike = new MovieEntity();
+        lookalike.setApiId("genre2");
+        lookalike.setTitle("Lookalike");
+        lookalike.setGenres("SCIENCE-FICTION");
+        movieRepository.addAllMovies(List.of(scienceFiction, lookalike));
+
+        List<String> titles = movieRepository.search(null, Genre.SCIENCE_FICTION, null, null, 10).stream()
+                .map(MovieEntity::getTitle).toList();
+
+        assertEquals(List.of("Solaris"), titles);
+    }
+
+    private static long expectedCount(List<MovieEntity> movies, Genre genre, Integer releaseYear, Double minRating) {
+        return movies.stream()
+                .filter(movie -> genre == null || movie.getGenres().contains(genre.name()))
+                .filter(movie -> releaseYear == null || movie.getReleaseYear() == releaseYear)
+                .filter(movie -> minRating == null || movie.getRating() >= minRating)
+                .count();
+    }
+}
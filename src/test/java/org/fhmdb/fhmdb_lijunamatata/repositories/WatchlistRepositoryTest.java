@@ -3,10 +3,17 @@ package org.fhmdb.fhmdb_lijunamatata.repositories;
 import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.database.WatchlistMovieEntity;
 import org.fhmdb.fhmdb_lijunamatata.exceptions.DatabaseException;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistChange;
+import org.fhmdb.fhmdb_lijunamatata.observer.WatchlistObserver;
 import org.junit.jupiter.api.*;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,4 +82,193 @@ class WatchlistRepositoryTest {
 
         assertEquals(0, watchlistRepository.getWatchlist().size());
     }
+
+    @Test
+    @Order(4)
+    @DisplayName("contains follows adding and removing without a database query")
+    void shouldTrackMembershipInMemory() throws DatabaseException {
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("api4");
+
+        assertFalse(watchlistRepository.contains("api4"));
+        watchlistRepository.addToWatchlist(movie);
+        assertTrue(watchlistRepository.contains("api4"));
+        assertEquals(watchlistRepository.existsInWatchlist("api4"), watchlistRepository.contains("api4"));
+
+        watchlistRepository.removeFromWatchlist("api4");
+        assertFalse(watchlistRepository.contains("api4"));
+        assertFalse(watchlistRepository.contains(null));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("getWatchlistMovies returns only the watchlisted movies")
+    void shouldReturnOnlyWatchlistedMovies() throws DatabaseException {
+        MovieRepository movieRepository = MovieRepository.getInstance();
+        List<MovieEntity> movies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MovieEntity movie = new MovieEntity();
+            movie.setApiId("watchlistApi" + i);
+            movie.setTitle("Watchlist Movie " + i);
+            movies.add(movie);
+        }
+        movieRepository.addAllMovies(movies);
+        try {
+            watchlistRepository.addToWatchlist(movies.get(1));
+            watchlistRepository.addToWatchlist(movies.get(3));
+            MovieEntity notInCatalog = new MovieEntity();
+            notInCatalog.setApiId("unknownApi");
+            watchlistRepository.addToWatchlist(notInCatalog);
+
+            List<String> titles = watchlistRepository.getWatchlistMovies().stream()
+                    .map(MovieEntity::getTitle)
+                    .toList();
+
+            assertEquals(List.of("Watchlist Movie 1", "Watchlist Movie 3"), titles);
+        } finally {
+            movieRepository.removeAll();
+        }
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Observers receive the added and removed movie as delta")
+    void shouldNotifyObserversWithDelta() throws DatabaseException {
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        WatchlistObserver observer = new RecordingObserver(changes);
+        MovieEntity movie = new MovieEntity();
+        movie.setApiId("api6");
+        movie.setTitle("Delta Movie");
+
+        watchlistRepository.flushObservers(); // deliver the changes of the setup before listening
+        watchlistRepository.addObserver(observer);
+        try {
+            watchlistRepository.addToWatchlist(movie);
+            watchlistRepository.flushObservers();
+            watchlistRepository.removeFromWatchlist("api6");
+            watchlistRepository.removeFromWatchlist("api6"); // nothing left to remove
+            watchlistRepository.flushObservers();
+        } finally {
+            watchlistRepository.removeObserver(observer);
+        }
+
+        assertEquals(2, changes.size());
+        WatchlistChange added = changes.get(0);
+        assertFalse(added.isFullRefresh());
+        assertEquals(1, added.getSize());
+        assertEquals("Delta Movie", added.getAdded().get("api6").getTitle());
+        assertTrue(added.getRemoved().isEmpty());
+
+        WatchlistChange removed = changes.get(1);
+        assertEquals(0, removed.getSize());
+        assertTrue(removed.getAdded().isEmpty());
+        assertTrue(removed.getRemoved().containsKey("api6"));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("A full refresh loads the snapshot only when an observer asks for it")
+    void shouldLoadSnapshotOnRequest() throws DatabaseException {
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        WatchlistObserver observer = new RecordingObserver(changes);
+
+        watchlistRepository.flushObservers();
+        watchlistRepository.addObserver(observer);
+        try {
+            watchlistRepository.notifyObservers();
+            watchlistRepository.flushObservers();
+        } finally {
+            watchlistRepository.removeObserver(observer);
+        }
+
+        assertEquals(1, changes.size());
+        assertTrue(changes.get(0).isFullRefresh());
+        assertEquals(0, changes.get(0).getSnapshot().size());
+        assertSame(changes.get(0).getSnapshot(), changes.get(0).getSnapshot());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Bulk add and remove skip duplicates and notify once each")
+    void shouldAddAndRemoveInBulk() throws DatabaseException {
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        WatchlistObserver observer = new RecordingObserver(changes);
+        MovieEntity existing = new MovieEntity();
+        existing.setApiId("bulk0");
+        watchlistRepository.addToWatchlist(existing);
+
+        watchlistRepository.flushObservers();
+        watchlistRepository.addObserver(observer);
+        try {
+            int added = watchlistRepository.addAllToWatchlist(Arrays.asList("bulk0", "bulk1", "bulk2", "bulk1", null));
+            watchlistRepository.flushObservers();
+            int removed = watchlistRepository.removeAllFromWatchlist(List.of("bulk0", "bulk2", "unknown"));
+            watchlistRepository.flushObservers();
+
+            assertEquals(2, added);
+            assertEquals(2, removed);
+        } finally {
+            watchlistRepository.removeObserver(observer);
+        }
+
+        assertEquals(List.of("bulk1"), watchlistRepository.exportWatchlist());
+        assertTrue(watchlistRepository.contains("bulk1"));
+        assertFalse(watchlistRepository.contains("bulk2"));
+        assertEquals(2, changes.size());
+        assertEquals(List.of("bulk1", "bulk2"), new ArrayList<>(changes.get(0).getAdded().keySet()));
+        assertEquals(List.of("bulk0", "bulk2"), new ArrayList<>(changes.get(1).getRemoved().keySet()));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Importing a large watchlist replaces the current one in one change")
+    void shouldImportAndExportWatchlist() throws DatabaseException {
+        List<String> imported = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            imported.add("import" + i);
+        }
+        MovieEntity dropped = new MovieEntity();
+        dropped.setApiId("dropped");
+        watchlistRepository.addToWatchlist(dropped);
+        List<WatchlistChange> changes = new CopyOnWriteArrayList<>();
+        WatchlistObserver observer = new RecordingObserver(changes);
+
+        watchlistRepository.flushObservers();
+        watchlistRepository.addObserver(observer);
+        try {
+            assertTimeout(Duration.ofSeconds(5), () -> watchlistRepository.importWatchlist(imported));
+            watchlistRepository.flushObservers();
+
+            assertEquals(imported, watchlistRepository.exportWatchlist());
+            assertFalse(watchlistRepository.contains("dropped"));
+            assertEquals(1, changes.size());
+            assertEquals(10_000, changes.get(0).getAdded().size());
+            assertEquals(1, changes.get(0).getRemoved().size());
+            assertEquals(10_000, changes.get(0).getSize());
+        } finally {
+            watchlistRepository.removeObserver(observer);
+            watchlistRepository.removeAllFromWatchlist(imported);
+        }
+    }
+
+    /**
+     * Records the changes without loading the snapshot.
+     */
+    private static class RecordingObserver implements WatchlistObserver {
+        private final List<WatchlistChange> changes;
+
+        RecordingObserver(List<WatchlistChange> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void onWatchlistChanged(WatchlistChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onWatchlistChanged(List<Movie> updatedWatchlist) {
+            fail("Observers should be notified with the change");
+        }
+    }
 }
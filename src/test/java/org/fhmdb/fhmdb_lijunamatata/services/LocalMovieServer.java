@@ -0,0 +1,170 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Local stand-in for the movie API, serving a generated catalog over HTTP.
+ * It supports the same query, genre, releaseYear and ratingFrom parameters as the real endpoint
+ * (see {@link MovieDispatcher}) and can simulate a slow network with a fixed latency and a bandwidth limit.
+ * The payload can be shaped as well: the number of movies per response can be capped, and every movie can be
+ * padded to simulate larger records than the generated ones.
+ * <p>
+ * Used by tests through {@link #start()} and {@link #getUrl()}, or standalone for manual load testing:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.fhmdb.fhmdb_lijunamatata.services.LocalMovieServer \
+ *     -Dexec.args="--movies 100000 --latency 200 --max-movies 5000 --padding 2048 --port 8080"
+ * </pre>
+ */
+public class LocalMovieServer implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(LocalMovieServer.class.getName());
+
+    private final MockWebServer server = new MockWebServer();
+    private final MovieDispatcher movieDispatcher;
+    private final long latencyMillis;
+    private final long bytesPerSecond;
+
+    /**
+     * @param movies         the catalog to serve
+     * @param latencyMillis  delay before the response headers are sent, 0 for none
+     * @param bytesPerSecond bandwidth limit of the response body, 0 for unlimited
+     */
+    public LocalMovieServer(List<Movie> movies, long latencyMillis, long bytesPerSecond) {
+        this(movies, latencyMillis, bytesPerSecond, 0, 0);
+    }
+
+    /**
+     * @param movies         the catalog to serve
+     * @param latencyMillis  delay before the response headers are sent, 0 for none
+     * @param bytesPerSecond bandwidth limit of the response body, 0 for unlimited
+     * @param maxMovies      maximum number of movies per response, 0 for all matching movies
+     * @param paddingBytes   number of spaces appended to the description of every movie, 0 for none
+     */
+    public LocalMovieServer(List<Movie> movies, long latencyMillis, long bytesPerSecond, int maxMovies,
+                            int paddingBytes) {
+        if (maxMovies < 0 || paddingBytes < 0) {
+            throw new IllegalArgumentException("Payload options must not be negative");
+        }
+        this.movieDispatcher = new MovieDispatcher(paddingBytes > 0 ? pad(movies, paddingBytes) : movies);
+        this.movieDispatcher.setMaxMovies(maxMovies);
+        this.latencyMillis = latencyMillis;
+        this.bytesPerSecond = bytesPerSecond;
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest recordedRequest) throws InterruptedException {
+                MockResponse response = movieDispatcher.dispatch(recordedRequest);
+                if (latencyMillis > 0) {
+                    response.setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+                }
+                if (bytesPerSecond > 0) {
+                    response.throttleBody(bytesPerSecond, 1, TimeUnit.SECONDS);
+                }
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Copies the movies with the given number of spaces appended to their descriptions.
+     * Spaces keep the text search results unchanged while making every movie larger on the wire.
+     */
+    private static List<Movie> pad(List<Movie> movies, int paddingBytes) {
+        String padding = " ".repeat(paddingBytes);
+        List<Movie> padded = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            padded.add(new Movie(movie.getId(), movie.getTitle(), movie.getGenres(), movie.getReleaseYear(),
+                    movie.getDescription() + padding, movie.getImgUrl(), movie.getLengthInMinutes(),
+                    movie.getDirectors(), movie.getWriters(), movie.getMainCast(), movie.getRating()));
+        }
+        return padded;
+    }
+
+    /**
+     * Starts the server on a free port.
+     */
+    public void start() throws IOException {
+        server.start();
+    }
+
+    /**
+     * Starts the server on the given port.
+     */
+    public void start(int port) throws IOException {
+        server.start(port);
+    }
+
+    /**
+     * @return the URL of the movies endpoint, usable as base URL of the MovieAPI
+     */
+    public String getUrl() {
+        return server.url("/movies").toString();
+    }
+
+    /**
+     * @return how many requests the server has received so far
+     */
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     * Options: --movies (catalog size, default 10000), --seed, --latency (ms), --bandwidth (bytes per second),
+     * --max-movies (movies per response), --padding (bytes per movie) and --port (default 8080).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int movies = 10_000;
+        long seed = MovieCatalogGenerator.DEFAULT_SEED;
+        long latency = 0;
+        long bandwidth = 0;
+        int maxMovies = 0;
+        int padding = 0;
+        int port = 8080;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--movies" -> movies = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--latency" -> latency = Long.parseLong(value);
+                case "--bandwidth" -> bandwidth = Long.parseLong(value);
+                case "--max-movies" -> maxMovies = Integer.parseInt(value);
+                case "--padding" -> padding = Integer.parseInt(value);
+                case "--port" -> port = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        LocalMovieServer localMovieServer = new LocalMovieServer(
+                MovieCatalogGenerator.generate(movies, seed), latency, bandwidth, maxMovies, padding);
+        localMovieServer.start(port);
+        logger.info("Serving " + movies + " movies at " + localMovieServer.getUrl());
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                localMovieServer.close();
+            } catch (IOException e) {
+                logger.warning("Error stopping the server: " + e.getMessage());
+            }
+        }));
+        new CountDownLatch(1).await();
+    }
+}
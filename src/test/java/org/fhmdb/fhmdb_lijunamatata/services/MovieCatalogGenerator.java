@@ -0,0 +1,234 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+
+import java.util.*;
+
+/**
+ * Generates large, deterministic movie catalogs for load tests and benchmarks.
+ * The same seed always produces the same catalog.
+ * <p>
+ * The distributions follow what a real catalog looks like rather than being uniform:
+ * <ul>
+ *     <li>Actor, director and writer popularity follows a Zipf distribution, a few people appear in many movies.</li>
+ *     <li>Genres co-occur: every genre has related genres that are more likely to be picked as second genre.</li>
+ *     <li>Release years are skewed towards recent years.</li>
+ *     <li>Ratings are normally distributed around 6.5.</li>
+ * </ul>
+ */
+public class MovieCatalogGenerator {
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final int FIRST_YEAR = 1920;
+    private static final int LAST_YEAR = 2024;
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private static final String[] TITLE_WORDS = {"Dark", "Night", "Return", "King", "Dream", "City", "Lost", "Star",
+            "War", "Love", "Shadow", "River", "Empire", "Storm", "Ghost", "Island", "Secret", "Last", "Golden", "Iron",
+            "Silent", "Broken", "Wild", "Hidden", "Eternal", "Crimson", "Frozen", "Midnight", "Burning", "Savage"};
+    private static final String[] DESCRIPTION_WORDS = {"detective", "family", "soldier", "scientist", "town",
+            "journey", "betrayal", "revenge", "friendship", "mystery", "heist", "kingdom", "planet", "survivor",
+            "rivalry", "conspiracy", "inheritance", "escape", "murder", "romance", "prophecy", "rebellion"};
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Emma", "Felix", "Grace", "Henry",
+            "Iris", "Jonas", "Kate", "Leo", "Mia", "Noah", "Olivia", "Paul", "Rosa", "Sam", "Tara", "Victor"};
+    private static final String[] LAST_NAMES = {"Adams", "Baker", "Carter", "Dunn", "Evans", "Fischer", "Gray",
+            "Hughes", "Ivanov", "Jones", "Keller", "Lopez", "Moreau", "Nolan", "Ortiz", "Price", "Quinn", "Reyes"};
+
+    //genres that are likely to be combined with the key genre
+    private static final Map<Genre, Genre[]> RELATED_GENRES = new EnumMap<>(Genre.class);
+
+    static {
+        RELATED_GENRES.put(Genre.ACTION, new Genre[]{Genre.ADVENTURE, Genre.THRILLER, Genre.SCIENCE_FICTION, Genre.CRIME});
+        RELATED_GENRES.put(Genre.ADVENTURE, new Genre[]{Genre.ACTION, Genre.FANTASY, Genre.FAMILY});
+        RELATED_GENRES.put(Genre.ANIMATION, new Genre[]{Genre.FAMILY, Genre.COMEDY, Genre.ADVENTURE});
+        RELATED_GENRES.put(Genre.BIOGRAPHY, new Genre[]{Genre.DRAMA, Genre.HISTORY, Genre.SPORT});
+        RELATED_GENRES.put(Genre.COMEDY, new Genre[]{Genre.ROMANCE, Genre.FAMILY, Genre.DRAMA});
+        RELATED_GENRES.put(Genre.CRIME, new Genre[]{Genre.DRAMA, Genre.THRILLER, Genre.MYSTERY});
+        RELATED_GENRES.put(Genre.DRAMA, new Genre[]{Genre.ROMANCE, Genre.CRIME, Genre.HISTORY, Genre.WAR});
+        RELATED_GENRES.put(Genre.DOCUMENTARY, new Genre[]{Genre.HISTORY, Genre.BIOGRAPHY, Genre.SPORT});
+        RELATED_GENRES.put(Genre.FAMILY, new Genre[]{Genre.ANIMATION, Genre.COMEDY, Genre.FANTASY});
+        RELATED_GENRES.put(Genre.FANTASY, new Genre[]{Genre.ADVENTURE, Genre.FAMILY, Genre.ROMANCE});
+        RELATED_GENRES.put(Genre.HISTORY, new Genre[]{Genre.DRAMA, Genre.WAR, Genre.BIOGRAPHY});
+        RELATED_GENRES.put(Genre.HORROR, new Genre[]{Genre.THRILLER, Genre.MYSTERY});
+        RELATED_GENRES.put(Genre.MUSICAL, new Genre[]{Genre.ROMANCE, Genre.COMEDY, Genre.DRAMA});
+        RELATED_GENRES.put(Genre.MYSTERY, new Genre[]{Genre.THRILLER, Genre.CRIME, Genre.HORROR});
+        RELATED_GENRES.put(Genre.ROMANCE, new Genre[]{Genre.DRAMA, Genre.COMEDY});
+        RELATED_GENRES.put(Genre.SCIENCE_FICTION, new Genre[]{Genre.ACTION, Genre.ADVENTURE, Genre.THRILLER});
+        RELATED_GENRES.put(Genre.SPORT, new Genre[]{Genre.DRAMA, Genre.BIOGRAPHY});
+        RELATED_GENRES.put(Genre.THRILLER, new Genre[]{Genre.CRIME, Genre.MYSTERY, Genre.ACTION});
+        RELATED_GENRES.put(Genre.WAR, new Genre[]{Genre.DRAMA, Genre.HISTORY, Genre.ACTION});
+        RELATED_GENRES.put(Genre.WESTERN, new Genre[]{Genre.ACTION, Genre.ADVENTURE, Genre.DRAMA});
+    }
+
+    //relative frequency of the first genre, indexed by Genre.ordinal()
+    private static final double[] GENRE_WEIGHTS = {
+            12, 7, 3, 2, 12, 7, 20, 3, 3, 4, 2, 5, 1, 3, 6, 4, 2, 8, 2, 1};
+
+    private final Random random;
+    private final double[] actorPopularity;
+    private final double[] directorPopularity;
+    private final double[] genreCumulative;
+
+    /**
+     * Creates a generator with the default seed and a pool of people fitting a large catalog.
+     */
+    public MovieCatalogGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    /**
+     * @param seed seed of the random generator; the same seed produces the same catalog
+     */
+    public MovieCatalogGenerator(long seed) {
+        this(seed, 20_000, 2_000);
+    }
+
+    /**
+     * @param seed          seed of the random generator; the same seed produces the same catalog
+     * @param actorCount    number of distinct actors
+     * @param directorCount number of distinct directors and writers
+     */
+    public MovieCatalogGenerator(long seed, int actorCount, int directorCount) {
+        this.random = new Random(seed);
+        this.actorPopularity = zipfCumulative(actorCount);
+        this.directorPopularity = zipfCumulative(directorCount);
+        this.genreCumulative = cumulative(GENRE_WEIGHTS);
+    }
+
+    /**
+     * Generates the next movies of this generator.
+     *
+     * @param size number of movies to generate
+     * @return a new, modifiable list of movies with the ids "0" to "size - 1"
+     */
+    public List<Movie> generate(int size) {
+        List<Movie> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(generateMovie(i));
+        }
+        return movies;
+    }
+
+    /**
+     * Convenience method for a one-off catalog.
+     *
+     * @param size number of movies to generate
+     * @param seed seed of the random generator
+     * @return a new, modifiable list of movies
+     */
+    public static List<Movie> generate(int size, long seed) {
+        return new MovieCatalogGenerator(seed).generate(size);
+    }
+
+    private Movie generateMovie(int index) {
+        String title = pick(TITLE_WORDS) + " " + pick(TITLE_WORDS)
+                + (random.nextInt(4) == 0 ? " " + (2 + random.nextInt(4)) : "");
+        String description = "A " + pick(DESCRIPTION_WORDS) + " story about " + pick(DESCRIPTION_WORDS)
+                + " and " + pick(DESCRIPTION_WORDS) + " in the " + pick(TITLE_WORDS).toLowerCase() + " "
+                + pick(DESCRIPTION_WORDS) + ".";
+
+        return new Movie(
+                String.valueOf(index),
+                title,
+                genres(),
+                releaseYear(),
+                description,
+                "https://example.org/posters/" + index + ".jpg",
+                75 + (int) Math.round(Math.abs(random.nextGaussian()) * 35),
+                people(directorPopularity, 1 + (random.nextInt(8) == 0 ? 1 : 0)),
+                people(directorPopularity, 1 + random.nextInt(2)),
+                people(actorPopularity, 3 + random.nextInt(3)),
+                rating());
+    }
+
+    /**
+     * One to three genres, the additional ones mostly related to the first.
+     */
+    private List<Genre> genres() {
+        List<Genre> genres = new ArrayList<>(3);
+        Genre first = Genre.values()[sample(genreCumulative)];
+        genres.add(first);
+        int additional = random.nextInt(3);
+        Genre[] related = RELATED_GENRES.get(first);
+        for (int i = 0; i < additional; i++) {
+            Genre next = random.nextInt(5) < 4
+                    ? related[random.nextInt(related.length)]
+                    : Genre.values()[random.nextInt(Genre.values().length)];
+            if (!genres.contains(next)) {
+                genres.add(next);
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * Exponentially more movies in recent years, clamped to the first year.
+     */
+    private int releaseYear() {
+        int yearsBack = (int) (-Math.log(1 - random.nextDouble()) * 18);
+        return Math.max(FIRST_YEAR, LAST_YEAR - yearsBack);
+    }
+
+    private double rating() {
+        double rating = 6.5 + random.nextGaussian() * 1.2;
+        return Math.round(Math.max(1.0, Math.min(10.0, rating)) * 10) / 10.0;
+    }
+
+    /**
+     * Draws the given number of distinct people, popular ones more often.
+     */
+    private List<String> people(double[] popularity, int count) {
+        List<String> people = new ArrayList<>(count);
+        while (people.size() < Math.min(count, popularity.length)) {
+            String person = personName(sample(popularity));
+            if (!people.contains(person)) {
+                people.add(person);
+            }
+        }
+        return people;
+    }
+
+    /**
+     * Builds a readable, unique name for the person with the given rank.
+     */
+    private static String personName(int rank) {
+        String name = FIRST_NAMES[rank % FIRST_NAMES.length] + " " + LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        return rank < combinations ? name : name + " " + (rank / combinations + 1);
+    }
+
+    private String pick(String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    /**
+     * Draws an index from a cumulative distribution with a binary search.
+     */
+    private int sample(double[] cumulative) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, value);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Cumulative weights of a Zipf distribution: rank k has the weight 1 / k^s.
+     */
+    private static double[] zipfCumulative(int size) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+}
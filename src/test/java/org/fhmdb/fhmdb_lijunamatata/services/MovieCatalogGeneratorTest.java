@@ -0,0 +1,123 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the MovieCatalogGenerator and the LocalMovieServer serving its catalogs.
+ */
+public class MovieCatalogGeneratorTest {
+
+    @Test
+    @DisplayName("the same seed generates the same catalog")
+    void generate_sameSeed_isDeterministic() {
+        List<Movie> first = MovieCatalogGenerator.generate(500, 7L);
+        List<Movie> second = MovieCatalogGenerator.generate(500, 7L);
+
+        assertEquals(first, second);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getMainCast(), second.get(i).getMainCast());
+            assertEquals(first.get(i).getRating(), second.get(i).getRating());
+        }
+        assertNotEquals(first, MovieCatalogGenerator.generate(500, 8L));
+    }
+
+    @Test
+    @DisplayName("generated movies are complete and within the valid ranges")
+    void generate_movies_haveValidFields() {
+        List<Movie> movies = MovieCatalogGenerator.generate(2_000, MovieCatalogGenerator.DEFAULT_SEED);
+
+        assertEquals(2_000, movies.stream().map(Movie::getId).distinct().count(), "ids should be unique");
+        for (Movie movie : movies) {
+            assertFalse(movie.getTitle().isBlank());
+            assertFalse(movie.getGenres().isEmpty());
+            assertEquals(movie.getGenres().size(), movie.getGenres().stream().distinct().count());
+            assertTrue(movie.getReleaseYear() >= 1920 && movie.getReleaseYear() <= 2024);
+            assertTrue(movie.getRating() >= 1.0 && movie.getRating() <= 10.0);
+            assertFalse(movie.getDirectors().isEmpty());
+            assertTrue(movie.getMainCast().size() >= 3);
+        }
+    }
+
+    @Test
+    @DisplayName("actor popularity is skewed and recent years are more frequent")
+    void generate_distributions_areSkewed() {
+        List<Movie> movies = MovieCatalogGenerator.generate(10_000, MovieCatalogGenerator.DEFAULT_SEED);
+
+        Map<String, Long> appearances = movies.stream()
+                .flatMap(movie -> movie.getMainCast().stream())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        long mostFrequent = appearances.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        double average = appearances.values().stream().mapToLong(Long::longValue).average().orElseThrow();
+        assertTrue(mostFrequent > 50 * average, "the most popular actor should appear far more often than average");
+
+        long recent = movies.stream().filter(movie -> movie.getReleaseYear() >= 2000).count();
+        long old = movies.stream().filter(movie -> movie.getReleaseYear() < 1950).count();
+        assertTrue(recent > 5 * old);
+
+        long crimeThrillers = movies.stream().filter(movie -> movie.getGenres().contains(Genre.CRIME)
+                && movie.getGenres().contains(Genre.THRILLER)).count();
+        long crimeMusicals = movies.stream().filter(movie -> movie.getGenres().contains(Genre.CRIME)
+                && movie.getGenres().contains(Genre.MUSICAL)).count();
+        assertTrue(crimeThrillers > crimeMusicals, "related genres should be combined more often");
+    }
+
+    @Test
+    @DisplayName("the local server answers MovieAPI queries with the filtered catalog")
+    void localMovieServer_filtersLikeTheApi() throws Exception {
+        List<Movie> catalog = MovieCatalogGenerator.generate(1_000, MovieCatalogGenerator.DEFAULT_SEED);
+        try (LocalMovieServer server = new LocalMovieServer(catalog, 0, 0)) {
+            server.start();
+            MovieAPI movieAPI = new MovieAPI(null) {
+                @Override
+                protected String getBaseUrl() {
+                    return server.getUrl();
+                }
+            };
+
+            List<Movie> expected = new MovieService(movieAPI).filterMovies(catalog, "storm", Genre.DRAMA, null, 6.0);
+            List<Movie> fetched = movieAPI.fetchMovies("storm", Genre.DRAMA, null, 6.0);
+
+            assertFalse(fetched.isEmpty());
+            assertEquals(expected, fetched);
+            assertEquals(catalog.size(), movieAPI.fetchAllMovies().size());
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    @DisplayName("the local server caps the movies per response and pads every movie")
+    void localMovieServer_shapesPayload() throws Exception {
+        List<Movie> catalog = MovieCatalogGenerator.generate(1_000, MovieCatalogGenerator.DEFAULT_SEED);
+        try (LocalMovieServer server = new LocalMovieServer(catalog, 0, 0, 100, 512)) {
+            server.start();
+            MovieAPI movieAPI = new MovieAPI(null) {
+                @Override
+                protected String getBaseUrl() {
+                    return server.getUrl();
+                }
+            };
+
+            List<Movie> all = movieAPI.fetchAllMovies();
+            List<Movie> drama = movieAPI.fetchMovies(null, Genre.DRAMA, null, null);
+
+            assertEquals(100, all.size());
+            assertEquals(100, drama.size());
+            assertTrue(drama.stream().allMatch(movie -> movie.getGenres().contains(Genre.DRAMA)));
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(catalog.get(i).getId(), all.get(i).getId());
+                assertEquals(catalog.get(i).getDescription().length() + 512, all.get(i).getDescription().length());
+            }
+        }
+    }
+}
@@ -21,9 +21,10 @@ import java.util.stream.Collectors;
  */
 public class MovieDispatcher extends Dispatcher {
     private static final Logger logger = Logger.getLogger(MovieDispatcher.class.getName());
-    private final String jsonResponse;
+    private String jsonResponse;
     private final List<Movie> allMovies;
     private final Gson gson;
+    private int maxMovies; // 0 for no limit
 
     /**
      * Creates a new MovieDispatcher that handles movie-related requests with mock data.
@@ -32,9 +33,37 @@ public class MovieDispatcher extends Dispatcher {
     public MovieDispatcher(String jsonResponse) {
         this.jsonResponse = jsonResponse;
 
+        this.gson = createGson();
+
+        // Parse the initial JSON response into our movie list
+        this.allMovies = gson.fromJson(jsonResponse, new TypeToken<List<Movie>>(){}.getType());
+    }
+
+    /**
+     * Creates a new MovieDispatcher that serves the given movies, e.g. a generated catalog.
+     * @param movies The movies to serve
+     */
+    public MovieDispatcher(List<Movie> movies) {
+        this.gson = createGson();
+        this.allMovies = new ArrayList<>(movies);
+        this.jsonResponse = gson.toJson(allMovies);
+    }
+
+    /**
+     * Limits the number of movies per response, like a page size. The first matching movies are returned.
+     * @param maxMovies The maximum number of movies per response, 0 for all matching movies
+     */
+    public void setMaxMovies(int maxMovies) {
+        this.maxMovies = maxMovies;
+        if (maxMovies > 0 && allMovies.size() > maxMovies) {
+            this.jsonResponse = gson.toJson(allMovies.subList(0, maxMovies));
+        }
+    }
+
+    private static Gson createGson() {
         /* Configure Gson with a custom deserializer to properly handle movie list deserialization,
          especially the conversion of genre strings to Genre enum values */
-        this.gson = new GsonBuilder()
+        return new GsonBuilder()
                 //register a custom deserializer for the type List<Movie> with Gson.
                 // This allows you to define how JSON data should be converted into a List<Movie> object, enabling you to handle specific deserialization logic as needed.
             .registerTypeAdapter(new TypeToken<List<Movie>>(){}.getType(), new JsonDeserializer<List<Movie>>() {
@@ -82,9 +111,6 @@ public class MovieDispatcher extends Dispatcher {
                 }
             })
             .create();
-            
-        // Parse the initial JSON response into our movie list
-        this.allMovies = gson.fromJson(jsonResponse, new TypeToken<List<Movie>>(){}.getType());
     }
 
     @NotNull
@@ -132,6 +158,7 @@ public class MovieDispatcher extends Dispatcher {
                 })
                 .filter(movie -> releaseYear == null || movie.getReleaseYear() == releaseYear)
                 .filter(movie -> ratingFrom == null || movie.getRating() >= ratingFrom)
+                .limit(maxMovies > 0 ? maxMovies : Long.MAX_VALUE)
                 .collect(Collectors.toList());
 
             //return the response if everything is working correctly with the filteredMovies as body
@@ -0,0 +1,208 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.models.Genre;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MovieIndex class.
+ * The results of the index are compared with a plain substring scan over the test base.
+ */
+public class MovieIndexTest {
+    private MovieIndex movieIndex;
+    private List<Movie> movies;
+
+    @BeforeEach
+    void setUp() {
+        movieIndex = new MovieIndex();
+        movies = Movie.initializeMoviesTestbase();
+        movieIndex.update(movies);
+    }
+
+    /**
+     * Reference implementation: the substring check the index replaces.
+     */
+    private static BitSet scan(List<Movie> movies, String searchText) {
+        BitSet expected = new BitSet();
+        String query = searchText.toLowerCase();
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (movie.getTitle().toLowerCase().contains(query) || movie.getDescription().toLowerCase().contains(query)) {
+                expected.set(i);
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Reference implementation: the per-movie predicates the secondary indexes replace.
+     */
+    private static BitSet scan(List<Movie> movies, String searchText, Genre genre, Integer releaseYear, Double rating) {
+        BitSet expected = scan(movies, searchText);
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if ((genre != null && !movie.getGenres().contains(genre))
+                    || (releaseYear != null && !releaseYear.equals(movie.getReleaseYear()))
+                    || (rating != null && rating.compareTo(movie.getRating()) > 0)) {
+                expected.clear(i);
+            }
+        }
+        return expected;
+    }
+
+    @ParameterizedTest
+    @DisplayName("search returns the same movies as a substring scan")
+    @ValueSource(strings = {"inception", "INCEPTION", "ncep", "the", "ab", "a", "son become", "mob hitmen, a",
+            "redemption", "xyz", "dream-sharing", " ", "10-year-old girl"})
+    void search_matchesSubstringScan(String searchText) {
+        assertEquals(scan(movies, searchText), movieIndex.search(searchText));
+    }
+
+    @Test
+    @DisplayName("empty or null search text matches every movie")
+    void search_emptyText_matchesAll() {
+        assertEquals(movies.size(), movieIndex.search("").cardinality());
+        assertEquals(movies.size(), movieIndex.search(null).cardinality());
+    }
+
+    @Test
+    @DisplayName("changes made to the indexed list in place are picked up")
+    void update_sameListChangedInPlace_isReindexed() {
+        List<Movie> sameList = new ArrayList<>(movies);
+        movieIndex.update(sameList);
+
+        sameList.set(0, new Movie("11", "Memento", List.of(Genre.MYSTERY), 2000,
+                "A man with short-term memory loss attempts to track down his wife's murderer.",
+                "", 113, List.of(), List.of(), List.of(), 8.4));
+        sameList.sort(Comparator.comparing(Movie::getTitle).reversed());
+        movieIndex.update(sameList);
+
+        assertEquals(scan(sameList, "memory"), movieIndex.search("memory"));
+        assertEquals(scan(sameList, "the"), movieIndex.search("the"));
+        for (int ordinal = 0; ordinal < sameList.size(); ordinal++) {
+            assertSame(sameList.get(ordinal), movieIndex.getMovie(ordinal));
+        }
+    }
+
+    @Test
+    @DisplayName("replacing a movie re-indexes only that position")
+    void update_replacedMovie_isSearchable() {
+        List<Movie> changed = new ArrayList<>(movies);
+        changed.set(1, new Movie("11", "Memento", List.of(Genre.MYSTERY), 2000,
+                "A man with short-term memory loss attempts to track down his wife's murderer.",
+                "", 113, List.of(), List.of(), List.of(), 8.4));
+        movieIndex.update(changed);
+
+        assertTrue(movieIndex.search("inception").isEmpty(), "Replaced movie should no longer be found");
+        assertEquals(scan(changed, "memory"), movieIndex.search("memory"));
+        assertSame(changed.get(1), movieIndex.getMovie(1));
+    }
+
+    @Test
+    @DisplayName("shrinking the list removes the dropped movies from the index")
+    void update_shorterList_dropsMovies() {
+        List<Movie> firstThree = new ArrayList<>(movies.subList(0, 3));
+        movieIndex.update(firstThree);
+
+        assertEquals(3, movieIndex.size());
+        assertTrue(movieIndex.search("whiplash").isEmpty());
+        assertEquals(scan(firstThree, "the"), movieIndex.search("the"));
+    }
+
+    @Test
+    @DisplayName("filter by genre, year and rating returns the same movies as a predicate scan")
+    void filter_combinedCriteria_matchesScan() {
+        for (Genre genre : new Genre[]{null, Genre.DRAMA, Genre.ACTION, Genre.WESTERN}) {
+            for (Integer releaseYear : new Integer[]{null, 1994, 2010, 1800}) {
+                for (Double rating : new Double[]{null, 0.0, 8.5, 8.8, 9.3, 10.0}) {
+                    for (String searchText : new String[]{"", "the", "xyz"}) {
+                        assertEquals(scan(movies, searchText, genre, releaseYear, rating),
+                                movieIndex.filter(searchText, genre, releaseYear, rating),
+                                searchText + "/" + genre + "/" + releaseYear + "/" + rating);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("the minimum rating is inclusive")
+    void filter_ratingBoundary_isInclusive() {
+        double highestRating = movies.stream().mapToDouble(Movie::getRating).max().orElseThrow();
+
+        BitSet best = movieIndex.filter(null, null, null, highestRating);
+
+        assertFalse(best.isEmpty());
+        best.stream().forEach(ordinal -> assertEquals(highestRating, movies.get(ordinal).getRating()));
+        assertTrue(movieIndex.filter(null, null, null, highestRating + 0.1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("secondary indexes follow replaced and dropped movies")
+    void update_changedMovies_updatesSecondaryIndexes() {
+        List<Movie> changed = new ArrayList<>(movies.subList(0, 3));
+        changed.set(1, new Movie("11", "Memento", List.of(Genre.MYSTERY), 2000,
+                "A man with short-term memory loss attempts to track down his wife's murderer.",
+                "", 113, List.of(), List.of(), List.of(), 8.4));
+        movieIndex.update(changed);
+
+        assertEquals(scan(changed, "", Genre.MYSTERY, 2000, 8.0), movieIndex.filter("", Genre.MYSTERY, 2000, 8.0));
+        assertEquals(scan(changed, "", null, null, 8.5), movieIndex.filter("", null, null, 8.5));
+        for (Movie dropped : movies.subList(3, movies.size())) {
+            assertEquals(scan(changed, "", null, dropped.getReleaseYear(), null),
+                    movieIndex.filter("", null, dropped.getReleaseYear(), null));
+        }
+    }
+
+    private static Movie copyOf(Movie movie, String title) {
+        return new Movie(movie.getId(), title, movie.getGenres(), movie.getReleaseYear(), movie.getDescription(),
+                movie.getImgUrl(), movie.getLengthInMinutes(), movie.getDirectors(), movie.getWriters(),
+                movie.getMainCast(), movie.getRating());
+    }
+
+    @Test
+    @DisplayName("new instances of the same movies replace the indexed ones, changed movies are re-indexed")
+    void update_newInstancesOfSameMovies_keepsIndex() {
+        List<Movie> reloaded = new ArrayList<>();
+        for (Movie movie : movies) {
+            reloaded.add(copyOf(movie, movie.getTitle()));
+        }
+        reloaded.set(0, copyOf(movies.get(0), "Memento"));
+        movieIndex.update(reloaded);
+
+        for (int ordinal = 0; ordinal < reloaded.size(); ordinal++) {
+            assertSame(reloaded.get(ordinal), movieIndex.getMovie(ordinal));
+        }
+        assertEquals(scan(reloaded, "memento"), movieIndex.search("memento"));
+        assertEquals(scan(reloaded, "the"), movieIndex.search("the"));
+        assertEquals(scan(reloaded, "", null, null, 8.8), movieIndex.filter("", null, null, 8.8));
+    }
+
+    @Test
+    @DisplayName("the rating filter matches a scan for many movies with repeated ratings")
+    void filter_manyRepeatedRatings_matchesScan() {
+        List<Movie> many = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            double rating = (i * 37 % 101) / 10.0;
+            many.add(new Movie(String.valueOf(i), "Movie " + i, List.of(Genre.DRAMA), 2000, "", "", 100,
+                    List.of(), List.of(), List.of(), rating));
+        }
+        movieIndex.update(many);
+
+        for (double rating = 0.0; rating <= 10.5; rating += 0.25) {
+            assertEquals(scan(many, "", null, null, rating), movieIndex.filter("", null, null, rating),
+                    String.valueOf(rating));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.fhmdb.fhmdb_lijunamatata.services;
+
+import org.fhmdb.fhmdb_lijunamatata.api.MovieAPI;
+import org.fhmdb.fhmdb_lijunamatata.database.DatabaseManager;
+import org.fhmdb.fhmdb_lijunamatata.database.MovieEntity;
+import org.fhmdb.fhmdb_lijunamatata.database.PendingBackfillEntity;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.repositories.MovieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the MovieLoader, fetching from a LocalMovieServer into a mocked repository.
+ */
+public class MovieLoaderTest {
+
+    private LocalMovieServer server;
+    private MovieAPI movieAPI;
+    private MovieRepository movieRepository;
+    private MovieLoader movieLoader;
+    private List<Movie> catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        catalog = MovieCatalogGenerator.generate(2_000, MovieCatalogGenerator.DEFAULT_SEED);
+        server = new LocalMovieServer(catalog, 0, 0);
+        server.start();
+        movieAPI = new MovieAPI(null) {
+            @Override
+            protected String getBaseUrl() {
+                return server.getUrl();
+            }
+        };
+        movieRepository = mock(MovieRepository.class);
+        movieLoader = new MovieLoader(movieAPI, movieRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("load fetches all movies, saves them into an empty database and reports the progress")
+    void load_emptyDatabase_savesMovies() throws Exception {
+        when(movieRepository.exists()).thenReturn(false);
+        List<String> messages = new CopyOnWriteArrayList<>();
+
+        List<Movie> movies = movieLoader.load((message, isError) -> messages.add(message), () -> false);
+
+        assertEquals(catalog, movies);
+        verify(movieRepository).addAllMovies(argThat(entities -> entities.size() == catalog.size()));
+        assertEquals("Loading movies...", messages.get(0));
+        assertTrue(messages.contains("Loading movies... " + MovieLoader.PROGRESS_INTERVAL + " loaded"));
+        assertEquals("Loaded " + catalog.size() + " movies", messages.get(messages.size() - 1));
+    }
+
+    @Test
+    @DisplayName("load does not save the movies again if the database already contains movies")
+    void load_filledDatabase_doesNotSave() throws Exception {
+        when(movieRepository.exists()).thenReturn(true);
+        when(movieRepository.isPeopleBackfillPending()).thenReturn(false);
+
+        List<Movie> movies = movieLoader.load((message, isError) -> {}, () -> false);
+
+        assertEquals(catalog.size(), movies.size());
+        verify(movieRepository, never()).addAllMovies(anyList());
+        verify(movieRepository, never()).completePeopleBackfill();
+    }
+
+    @Test
+    @DisplayName("load saves the movies again once if the people backfill is pending")
+    void load_backfillPending_savesMoviesAndCompletesBackfill() throws Exception {
+        when(movieRepository.exists()).thenReturn(true);
+        when(movieRepository.isPeopleBackfillPending()).thenReturn(true);
+
+        movieLoader.load((message, isError) -> {}, () -> false);
+
+        InOrder order = inOrder(movieRepository);
+        order.verify(movieRepository).addAllMovies(argThat(entities -> entities.size() == catalog.size()));
+        order.verify(movieRepository).completePeopleBackfill();
+    }
+
+    @Test
+    @DisplayName("load fills in the people of movies stored before the person tables existed")
+    void load_moviesStoredWithoutPeople_storesPeople() throws Exception {
+        MovieRepository repository = MovieRepository.getInstance();
+        repository.removeAll();
+        try {
+            List<MovieEntity> withoutPeople = new ArrayList<>();
+            for (Movie movie : catalog) {
+                MovieEntity entity = new MovieEntity();
+                entity.setApiId(movie.getId());
+                entity.setTitle(movie.getTitle());
+                withoutPeople.add(entity);
+            }
+            repository.addAllMovies(withoutPeople);
+            assertTrue(repository.exists());
+            assertFalse(repository.hasPeople());
+            // scheduled by the schema migration when such a database is upgraded
+            DatabaseManager.getDatabaseManager().getPendingBackfillDao().createIfNotExists(
+                    new PendingBackfillEntity(PendingBackfillEntity.MOVIE_PEOPLE, "test"));
+
+            new MovieLoader(movieAPI, repository).load((message, isError) -> {}, () -> false);
+
+            String director = catalog.get(0).getDirectors().get(0);
+            long expected = catalog.stream().filter(movie -> movie.getDirectors().contains(director)).count();
+            assertTrue(repository.hasPeople());
+            assertEquals(expected, repository.countMoviesFromDirector(director));
+            assertNotNull(repository.getMostPopularActor());
+            assertEquals(catalog.size(), repository.count(), "movies should be merged, not inserted twice");
+            assertFalse(repository.isPeopleBackfillPending(), "the backfill should only run once");
+        } finally {
+            repository.completePeopleBackfill();
+            repository.removeAll();
+        }
+    }
+
+    @Test
+    @DisplayName("load stops while parsing when it is cancelled and writes nothing")
+    void load_cancelled_stopsWithoutSaving() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+
+        assertThrows(CancellationException.class,
+                () -> movieLoader.load((message, isError) -> {}, () -> checks.incrementAndGet() > 10));
+
+        assertTrue(checks.get() < catalog.size(), "parsing should stop right after the cancellation");
+        verify(movieRepository, never()).exists();
+        verify(movieRepository, never()).addAllMovies(anyList());
+    }
+}
@@ -38,7 +38,7 @@ public class MovieServiceTest {
             mockWebServer.start();
 
             // Override getBaseUrl to return the mock URL
-            movieAPI = new MovieAPI() {
+            movieAPI = new MovieAPI(null) {
                 @Override
                 protected String getBaseUrl() {
                     return mockWebServer.url("/movies").toString();
@@ -223,4 +223,35 @@ public class MovieServiceTest {
                 .stream().map(Movie::getTitle).toList();
         assertEquals(expected, actual);
     }
+
+    @Test
+    @DisplayName("Local filtering by search text and genre")
+    public void testLocalFilterMoviesByTextAndGenre() {
+        List<Movie> testbase = Movie.initializeMoviesTestbase();
+        List<String> actual = movieService.filterMovies(testbase, "NOLAN", null, null, null).stream()
+                .map(Movie::getTitle).toList();
+        assertEquals(List.of(), actual, "Directors are not part of the text search");
+
+        actual = movieService.filterMovies(testbase, "son", Genre.DRAMA, null, null).stream()
+                .map(Movie::getTitle).toList();
+        assertEquals(List.of("Life Is Beautiful", "The Godfather", "The Shawshank Redemption"), actual);
+    }
+
+    @Test
+    @DisplayName("Local filtering sees changes made to the same list between two calls")
+    public void testLocalFilterMoviesAfterInPlaceChange() {
+        List<Movie> testbase = new ArrayList<>(Movie.initializeMoviesTestbase());
+        movieService.filterMovies(testbase, "son", Genre.DRAMA, null, null);
+
+        testbase.sort(Comparator.comparing(Movie::getTitle).reversed());
+        testbase.set(testbase.size() - 1, new Movie("11", "Memento", List.of(Genre.MYSTERY), 2000,
+                "A man with short-term memory loss attempts to track down his wife's murderer.",
+                "", 113, List.of(), List.of(), List.of(), 8.4));
+        List<String> actual = movieService.filterMovies(testbase, "son", Genre.DRAMA, null, null).stream()
+                .map(Movie::getTitle).sorted().toList();
+
+        assertEquals(List.of("Life Is Beautiful", "The Godfather", "The Shawshank Redemption"), actual);
+        assertEquals(List.of("Memento"), movieService.filterMovies(testbase, "memory", null, null, null).stream()
+                .map(Movie::getTitle).toList());
+    }
 }
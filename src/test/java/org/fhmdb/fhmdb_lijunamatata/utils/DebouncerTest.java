@@ -0,0 +1,145 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DebouncerTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Debouncer.newScheduler("debouncer-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A burst of calls runs only the action of the last call")
+    void call_burst_runsLastActionOnce() {
+        Debouncer debouncer = new Debouncer(scheduler, 10_000);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            debouncer.call(() -> runs.add(value));
+        }
+        assertTrue(runs.isEmpty(), "Nothing should run before the window has passed");
+        debouncer.flush();
+
+        assertEquals(List.of(99), runs);
+        assertEquals(100, debouncer.getCallCount());
+        assertEquals(1, debouncer.getExecutedCount());
+        assertEquals(99, debouncer.getSuppressedCount());
+        assertFalse(debouncer.isPending());
+    }
+
+    @Test
+    @DisplayName("The trailing action runs on the scheduler thread after the window")
+    void call_trailing_runsAfterWindow() throws InterruptedException {
+        Debouncer debouncer = new Debouncer(scheduler, 20);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicReference<Thread> actionThread = new AtomicReference<>();
+
+        debouncer.call(() -> {
+            actionThread.set(Thread.currentThread());
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals("debouncer-test", actionThread.get().getName());
+    }
+
+    @Test
+    @DisplayName("The leading edge runs the first call immediately and suppresses the rest of the burst")
+    void call_leadingOnly_runsFirstCall() throws InterruptedException {
+        Debouncer debouncer = new Debouncer(scheduler, 20, true, false);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            debouncer.call(() -> runs.add(value));
+        }
+        assertEquals(List.of(0), runs, "The first call should run on the calling thread");
+        awaitWindow(debouncer);
+
+        assertEquals(List.of(0), runs);
+        assertEquals(1, debouncer.getExecutedCount());
+        assertEquals(4, debouncer.getSuppressedCount());
+    }
+
+    @Test
+    @DisplayName("Leading and trailing edge run the first and the last call of a burst")
+    void call_leadingAndTrailing_runsFirstAndLast() throws InterruptedException {
+        Debouncer debouncer = new Debouncer(scheduler, 20, true, true);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            debouncer.call(() -> runs.add(value));
+        }
+        awaitWindow(debouncer);
+
+        assertEquals(List.of(0, 4), runs);
+        assertEquals(3, debouncer.getSuppressedCount());
+
+        // a single call in a new window only runs on the leading edge
+        debouncer.call(() -> runs.add(5));
+        awaitWindow(debouncer);
+        assertEquals(List.of(0, 4, 5), runs);
+    }
+
+    @Test
+    @DisplayName("cancel drops the pending action")
+    void cancel_dropsPendingAction() {
+        Debouncer debouncer = new Debouncer(scheduler, 10_000);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        debouncer.call(() -> runs.add(1));
+        debouncer.cancel();
+        debouncer.flush();
+
+        assertTrue(runs.isEmpty());
+        assertFalse(debouncer.isPending());
+        assertEquals(0, debouncer.getExecutedCount());
+    }
+
+    @Test
+    @DisplayName("A failing action does not stop later actions")
+    void call_failingAction_laterActionsRun() {
+        Debouncer debouncer = new Debouncer(scheduler, 10_000);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        debouncer.call(() -> {
+            throw new IllegalStateException("expected");
+        });
+        debouncer.flush();
+        debouncer.call(() -> runs.add(1));
+        debouncer.flush();
+
+        assertEquals(List.of(1), runs);
+        assertEquals(2, debouncer.getExecutedCount());
+    }
+
+    private static void awaitWindow(Debouncer debouncer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (debouncer.isPending() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(debouncer.isPending(), "The window should have ended");
+    }
+}
@@ -0,0 +1,176 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.transformation.SortedList;
+import org.fhmdb.fhmdb_lijunamatata.models.Movie;
+import org.fhmdb.fhmdb_lijunamatata.services.MovieCatalogGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedObservableListTest {
+
+    private KeyedObservableList<Movie, String> list;
+    private List<Movie> catalog;
+    // the list rebuilt from the reported changes only
+    private List<Movie> mirror;
+    private int events;
+    private int removedItems;
+    private int addedItems;
+
+    @BeforeEach
+    void setUp() {
+        list = new KeyedObservableList<>(Movie::getId);
+        catalog = MovieCatalogGenerator.generate(2_000, MovieCatalogGenerator.DEFAULT_SEED);
+        mirror = new ArrayList<>();
+        list.addListener((ListChangeListener<Movie>) change -> {
+            events++;
+            while (change.next()) {
+                assertFalse(change.wasPermutated(), "moves are reported as removal and addition");
+                if (change.wasRemoved()) {
+                    mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                    removedItems += change.getRemovedSize();
+                }
+                if (change.wasAdded()) {
+                    mirror.addAll(change.getFrom(), change.getAddedSubList());
+                    addedItems += change.getAddedSize();
+                }
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("The first update adds all items with one change")
+    void update_empty_addsAll() {
+        list.update(catalog);
+
+        assertEquals(catalog, list);
+        assertEquals(catalog, mirror);
+        assertEquals(1, events);
+        assertEquals(catalog.size(), addedItems);
+    }
+
+    @Test
+    @DisplayName("Filtering keeps the remaining items and only reports the removed ones")
+    void update_subset_onlyRemoves() {
+        list.update(catalog);
+        Movie kept = catalog.get(1);
+        resetCounters();
+
+        List<Movie> everySecond = new ArrayList<>();
+        for (int i = 1; i < catalog.size(); i += 2) {
+            everySecond.add(catalog.get(i));
+        }
+        list.update(everySecond);
+
+        assertEquals(everySecond, list);
+        assertEquals(everySecond, mirror);
+        assertEquals(1, events);
+        assertEquals(catalog.size() / 2, removedItems);
+        assertEquals(0, addedItems);
+        assertSame(kept, list.get(0));
+    }
+
+    @Test
+    @DisplayName("Moving one item only removes and adds that item")
+    void update_moveOne_movesOnlyThatItem() {
+        list.update(catalog);
+        resetCounters();
+
+        List<Movie> moved = new ArrayList<>(catalog);
+        moved.add(moved.remove(10));
+        list.update(moved);
+
+        assertEquals(moved, list);
+        assertEquals(moved, mirror);
+        assertEquals(1, removedItems);
+        assertEquals(1, addedItems);
+    }
+
+    @Test
+    @DisplayName("Equal items keep their instance, changed items with the same key are replaced")
+    void update_sameKeys_replacesChangedItems() {
+        list.update(catalog);
+        resetCounters();
+
+        List<Movie> copies = new ArrayList<>();
+        for (Movie movie : catalog) {
+            copies.add(new Movie(movie.getId(), movie.getTitle(), movie.getGenres(), movie.getReleaseYear(),
+                    movie.getDescription(), movie.getImgUrl(), movie.getLengthInMinutes(), movie.getDirectors(),
+                    movie.getWriters(), movie.getMainCast(), movie.getRating()));
+        }
+        Movie original = catalog.get(5);
+        copies.set(5, new Movie(original.getId(), "Renamed", original.getGenres(), original.getReleaseYear(),
+                original.getDescription(), original.getImgUrl(), original.getLengthInMinutes(),
+                original.getDirectors(), original.getWriters(), original.getMainCast(), original.getRating()));
+        list.update(copies);
+
+        assertEquals(copies, list);
+        assertEquals(copies, mirror);
+        assertSame(catalog.get(0), list.get(0));
+        assertEquals("Renamed", list.get(5).getTitle());
+        assertEquals(1, removedItems);
+        assertEquals(1, addedItems);
+    }
+
+    @Test
+    @DisplayName("An update without differences fires no change")
+    void update_unchanged_noEvent() {
+        list.update(catalog);
+        resetCounters();
+
+        list.update(new ArrayList<>(catalog));
+
+        assertEquals(0, events);
+    }
+
+    @Test
+    @DisplayName("Random updates are reported correctly and a SortedList on top stays sorted")
+    void update_random_mirrorAndSortedViewMatch() {
+        // generated titles repeat, the id makes the expected order unique
+        Comparator<Movie> byTitle = Comparator.comparing(Movie::getTitle).thenComparing(Movie::getId);
+        SortedList<Movie> sorted = new SortedList<>(list, byTitle);
+        Random random = new Random(7);
+
+        for (int round = 0; round < 50; round++) {
+            List<Movie> next = new ArrayList<>();
+            for (Movie movie : catalog) {
+                if (random.nextInt(3) > 0) {
+                    next.add(movie);
+                }
+            }
+            if (random.nextBoolean()) {
+                Collections.shuffle(next.subList(0, next.size() / 10), random);
+            }
+            list.update(next);
+
+            assertEquals(next, list);
+            assertEquals(next, mirror);
+            List<Movie> expected = new ArrayList<>(next);
+            expected.sort(byTitle);
+            assertEquals(expected, sorted);
+        }
+    }
+
+    @Test
+    @DisplayName("The longest increasing run ignores removed positions")
+    void longestIncreasingRun_skipsRemoved() {
+        boolean[] kept = KeyedObservableList.longestIncreasingRun(new int[]{3, -1, 0, 1, 4, 2, -1, 5});
+
+        assertArrayEquals(new boolean[]{false, false, true, true, false, true, false, true}, kept);
+    }
+
+    private void resetCounters() {
+        events = 0;
+        removedItems = 0;
+        addedItems = 0;
+    }
+}
@@ -0,0 +1,155 @@
+package org.fhmdb.fhmdb_lijunamatata.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceMonitorTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private PerformanceMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new PerformanceMonitor();
+        monitor.setEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Frame percentiles use the nearest rank of the measured frames")
+    void snapshot_framePercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            monitor.recordFrame(i * MILLIS);
+        }
+
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+
+        assertEquals(50.0, snapshot.getFramePercentileMillis(50), 0.001);
+        assertEquals(99.0, snapshot.getFramePercentileMillis(99), 0.001);
+        assertEquals(100.0, snapshot.getMaxFrameMillis(), 0.001);
+        assertEquals(100, snapshot.getFrameCount());
+    }
+
+    @Test
+    @DisplayName("Frames of at least the stall threshold are counted as stalls")
+    void recordFrame_countsStalls() {
+        monitor.recordFrame(16 * MILLIS);
+        monitor.recordFrame(PerformanceMonitor.STALL_THRESHOLD_NANOS - 1);
+        monitor.recordFrame(PerformanceMonitor.STALL_THRESHOLD_NANOS);
+        monitor.recordFrame(200 * MILLIS);
+
+        assertEquals(2, monitor.snapshot().getStallCount());
+    }
+
+    @Test
+    @DisplayName("Only the frames of the window are used for the percentiles")
+    void recordFrame_keepsOnlyWindow() {
+        monitor.recordFrame(500 * MILLIS);
+        for (int i = 0; i < PerformanceMonitor.FRAME_WINDOW; i++) {
+            monitor.recordFrame(16 * MILLIS);
+        }
+
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+
+        assertEquals(16.0, snapshot.getMaxFrameMillis(), 0.001);
+        assertEquals(PerformanceMonitor.FRAME_WINDOW + 1, snapshot.getFrameCount());
+        // the stall left the window but is still counted
+        assertEquals(1, snapshot.getStallCount());
+    }
+
+    @Test
+    @DisplayName("An empty monitor reports zero frame times")
+    void snapshot_withoutFrames_returnsZero() {
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+
+        assertEquals(0.0, snapshot.getFramePercentileMillis(99));
+        assertEquals(0.0, snapshot.getMaxFrameMillis());
+        assertTrue(snapshot.getActions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Recorded actions report count, average, maximum and last duration")
+    void record_aggregatesActions() {
+        monitor.record(PerformanceMonitor.ACTION_SORT, 2 * MILLIS);
+        monitor.record(PerformanceMonitor.ACTION_SORT, 6 * MILLIS);
+        monitor.record(PerformanceMonitor.ACTION_SORT, 4 * MILLIS);
+        monitor.record(PerformanceMonitor.ACTION_FILTER, MILLIS);
+
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+        PerformanceMonitor.ActionStatistics sort = snapshot.getAction(PerformanceMonitor.ACTION_SORT);
+
+        assertEquals(3, sort.getCount());
+        assertEquals(4.0, sort.getAverageMillis(), 0.001);
+        assertEquals(6.0, sort.getMaxMillis(), 0.001);
+        assertEquals(4.0, sort.getLastMillis(), 0.001);
+        assertEquals(List.of(PerformanceMonitor.ACTION_FILTER, PerformanceMonitor.ACTION_SORT),
+                List.copyOf(snapshot.getActions().keySet()));
+    }
+
+    @Test
+    @DisplayName("A snapshot does not change when more actions are recorded")
+    void snapshot_isNotUpdatedLater() {
+        monitor.record(PerformanceMonitor.ACTION_SORT, MILLIS);
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+
+        monitor.record(PerformanceMonitor.ACTION_SORT, MILLIS);
+
+        assertEquals(1, snapshot.getAction(PerformanceMonitor.ACTION_SORT).getCount());
+    }
+
+    @Test
+    @DisplayName("Timers record nothing while the monitor is disabled")
+    void stopTimer_disabled_recordsNothing() {
+        monitor.setEnabled(false);
+
+        long start = monitor.startTimer();
+        monitor.stopTimer(PerformanceMonitor.ACTION_CELL_UPDATE, start);
+
+        assertEquals(0, start);
+        assertNull(monitor.snapshot().getAction(PerformanceMonitor.ACTION_CELL_UPDATE));
+    }
+
+    @Test
+    @DisplayName("A timer started while disabled is ignored after enabling the monitor")
+    void stopTimer_startedWhileDisabled_recordsNothing() {
+        monitor.setEnabled(false);
+        long start = monitor.startTimer();
+        monitor.setEnabled(true);
+
+        monitor.stopTimer(PerformanceMonitor.ACTION_FILTER, start);
+
+        assertNull(monitor.snapshot().getAction(PerformanceMonitor.ACTION_FILTER));
+    }
+
+    @Test
+    @DisplayName("Timers record the elapsed time while the monitor is enabled")
+    void stopTimer_enabled_recordsAction() {
+        long start = monitor.startTimer();
+        monitor.stopTimer(PerformanceMonitor.ACTION_FILTER, start);
+
+        PerformanceMonitor.ActionStatistics filter = monitor.snapshot().getAction(PerformanceMonitor.ACTION_FILTER);
+        assertNotNull(filter);
+        assertEquals(1, filter.getCount());
+        assertTrue(filter.getLastMillis() >= 0);
+    }
+
+    @Test
+    @DisplayName("Reset drops frames, stalls and actions")
+    void reset_clearsEverything() {
+        monitor.recordFrame(100 * MILLIS);
+        monitor.record(PerformanceMonitor.ACTION_SORT, MILLIS);
+
+        monitor.reset();
+        PerformanceMonitor.Snapshot snapshot = monitor.snapshot();
+
+        assertEquals(0, snapshot.getFrameCount());
+        assertEquals(0, snapshot.getStallCount());
+        assertEquals(0.0, snapshot.getMaxFrameMillis());
+        assertTrue(snapshot.getActions().isEmpty());
+    }
+}